@@ -0,0 +1,198 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.benchmarks;
+
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+/**
+ * Generator of the standard benchmark corpus.
+ * <p>
+ * All the documents are generated in memory from a fixed seed, so that every run of a benchmark
+ * processes exactly the same input and results recorded on different versions are comparable.
+ */
+public final class BenchmarkCorpus {
+
+    /**
+     * The seed used for all pseudo-random content of the corpus.
+     */
+    public static final long SEED = 0x17E47L;
+
+    private static final String FONTS = "com/itextpdf/benchmarks/fonts/";
+
+    private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing",
+            "elit", "sed", "do", "eiusmod", "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua",
+            "enim", "ad", "minim", "veniam", "quis", "nostrud", "exercitation", "ullamco", "laboris", "nisi",
+            "aliquip", "ex", "ea", "commodo", "consequat"};
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Generates pseudo-random text.
+     *
+     * @param random the source of randomness
+     * @param words  the number of words
+     * @return the text
+     */
+    public static String text(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Generates a text document laid out with paragraphs and tables.
+     *
+     * @param pages          the approximate number of pages
+     * @param fullCompression whether the document is written in full compression mode, i.e. with object
+     *                       streams and a cross-reference stream
+     * @param compressStreams whether the content streams are compressed
+     * @return the bytes of the generated document
+     */
+    public static byte[] textDocument(int pages, boolean fullCompression, boolean compressStreams) {
+        WriterProperties properties = new WriterProperties().setFullCompressionMode(fullCompression)
+                .setCompressionLevel(compressStreams ? CompressionConstants.DEFAULT_COMPRESSION
+                        : CompressionConstants.NO_COMPRESSION);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        Random random = new Random(SEED);
+        try (Document document = new Document(new PdfDocument(new PdfWriter(baos, properties)))) {
+            while (document.getPdfDocument().getNumberOfPages() < pages) {
+                document.add(new Paragraph(text(random, 200)));
+                document.add(table(random, 10, 4));
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Generates a table filled with short pseudo-random text.
+     *
+     * @param random  the source of randomness
+     * @param rows    the number of rows
+     * @param columns the number of columns
+     * @return the {@link Table}
+     */
+    public static Table table(Random random, int rows, int columns) {
+        Table table = new Table(columns).useAllAvailableWidth();
+        for (int i = 0; i < rows * columns; i++) {
+            table.addCell(new Cell().add(new Paragraph(text(random, 1 + random.nextInt(8)))));
+        }
+        return table;
+    }
+
+    /**
+     * Generates an HTML document with nested elements, classes and ids, to be matched against {@link #css(int)}.
+     *
+     * @param sections the number of sections
+     * @return the HTML source
+     */
+    public static String html(int sections) {
+        Random random = new Random(SEED);
+        StringBuilder sb = new StringBuilder("<html><head><title>corpus</title></head><body>");
+        for (int i = 0; i < sections; i++) {
+            sb.append("<div class='section s").append(i % 10).append("' id='section").append(i).append("'>");
+            sb.append("<h2 class='title'>").append(text(random, 4)).append("</h2>");
+            sb.append("<ul>");
+            for (int j = 0; j < 5; j++) {
+                sb.append("<li class='item").append(j % 2 == 0 ? " even" : " odd").append("'><span>")
+                        .append(text(random, 3)).append("</span> <a href='#'>").append(text(random, 2))
+                        .append("</a></li>");
+            }
+            sb.append("</ul><p>").append(text(random, 40)).append("</p></div>");
+        }
+        return sb.append("</body></html>").toString();
+    }
+
+    /**
+     * Generates a style sheet with type, class, id, attribute, descendant, child and pseudo-class selectors.
+     *
+     * @param rules the number of class and id based rules
+     * @return the CSS source
+     */
+    public static String css(int rules) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("body { font-size: 12px } p { margin: 0 } a[href] { color: blue } ul > li { padding: 1px } ")
+                .append("li:first-child { font-weight: bold } li:nth-child(2n+1) { color: gray } ")
+                .append("div.section h2.title { font-size: 16px } * { line-height: 1.2 } ");
+        for (int i = 0; i < rules; i++) {
+            sb.append(".s").append(i % 10).append(" .item").append(i % 3 == 0 ? ".even" : "")
+                    .append(" span { color: #").append(String.format("%06x", i * 4099 % 0x1000000)).append(" } ");
+            sb.append("#section").append(i).append(" p { margin-left: ").append(i % 20).append("px } ");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads a font program bundled with the benchmarks.
+     *
+     * @param name the file name of the font, e.g. {@code FreeSans.ttf}
+     * @return the bytes of the font program
+     * @throws IOException if the font cannot be read
+     */
+    public static byte[] font(String name) throws IOException {
+        try (InputStream is = BenchmarkCorpus.class.getClassLoader().getResourceAsStream(FONTS + name)) {
+            if (is == null) {
+                throw new IOException("Font " + name + " is not found");
+            }
+            return StreamUtil.inputStreamToArray(is);
+        }
+    }
+}
@@ -43,6 +43,7 @@
  */
 package com.itextpdf.forms;
 
+import com.itextpdf.forms.fields.PdfButtonFormField;
 import com.itextpdf.forms.fields.PdfFormField;
 import com.itextpdf.forms.xfa.XfaForm;
 import com.itextpdf.io.LogMessageConstant;
@@ -76,6 +77,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -575,6 +577,57 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         return fields.get(fieldName);
     }
 
+    /**
+     * Sets the values of several {@link PdfFormField form field}s at once. All the values are set first
+     * and only then the appearance of each affected terminal field is regenerated, exactly once. Thus, in contrast to
+     * calling {@link PdfFormField#setValue(String)} for each field, no appearance stream is generated more
+     * than once, even if the map contains both a parent field and its kids.
+     * <p>
+     * As in {@link PdfFormField#setValue(String)}, the appearances of radio button fields are not regenerated.
+     * Names which do not correspond to any field of the form are ignored.
+     *
+     * @param fieldValues a map of fully qualified field names to the values to be set
+     * @return this {@link PdfAcroForm} instance
+     */
+    public PdfAcroForm setFieldValues(Map<String, String> fieldValues) {
+        Map<String, PdfFormField> formFields = getFormFields();
+        Set<PdfFormField> fieldsToRegenerate = new LinkedHashSet<>();
+        for (Map.Entry<String, String> fieldValue : fieldValues.entrySet()) {
+            PdfFormField field = formFields.get(fieldValue.getKey());
+            if (field == null) {
+                continue;
+            }
+            field.setValue(fieldValue.getValue(), false);
+            addFieldsToRegenerate(field, fieldValue.getKey(), formFields, fieldsToRegenerate);
+        }
+        for (PdfFormField field : fieldsToRegenerate) {
+            field.regenerateField();
+        }
+        return this;
+    }
+
+    private static void addFieldsToRegenerate(PdfFormField field, String fieldName, Map<String, PdfFormField> formFields,
+                                              Set<PdfFormField> fieldsToRegenerate) {
+        boolean hasNamedKids = false;
+        // Setting the value of a non-terminal field sets it for all its named kids as well. Only terminal fields
+        // are regenerated: the widgets of a non-terminal field are its kids, which are regenerated on their own.
+        if (!PdfName.Btn.equals(field.getFormType()) && field.getKids() != null) {
+            for (PdfObject kid : field.getKids()) {
+                if (kid.isDictionary() && ((PdfDictionary) kid).getAsString(PdfName.T) != null) {
+                    hasNamedKids = true;
+                    String kidName = fieldName + "." + ((PdfDictionary) kid).getAsString(PdfName.T).toUnicodeString();
+                    PdfFormField kidField = formFields.get(kidName);
+                    if (kidField != null) {
+                        addFieldsToRegenerate(kidField, kidName, formFields, fieldsToRegenerate);
+                    }
+                }
+            }
+        }
+        if (!hasNamedKids && !(PdfName.Btn.equals(field.getFormType()) && field.getFieldFlag(PdfButtonFormField.FF_RADIO))) {
+            fieldsToRegenerate.add(field);
+        }
+    }
+
     /**
      * Gets the attribute generateAppearance, which tells {@link #flattenFields()}
      * to generate an appearance Stream for all {@link PdfFormField form field}s
@@ -637,17 +690,35 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         // xObject, so that circular reference is avoided.
         // We copy beforehand firstly not to produce a copy every time, and secondly not to copy all the
         // xObjects that have already been added to the page resources.
-        Map<Integer, PdfObject> initialPageResourceClones = new LinkedHashMap<>();
+        // In the same pass we index the widget annotations of each page, so that the page of a widget without
+        // /P entry is not searched for in annotations of all the pages.
+        Map<PdfPage, PdfObject> initialPageResourceClones = new LinkedHashMap<>();
+        Map<PdfDictionary, PdfPage> annotationsToPages = new HashMap<>();
         for (int i = 1; i <= document.getNumberOfPages(); i++) {
-            PdfObject resources = document.getPage(i).getPdfObject().getAsDictionary(PdfName.Resources);
-            initialPageResourceClones.put(i, resources == null ? null : resources.clone());
+            PdfPage page = document.getPage(i);
+            PdfObject resources = page.getPdfObject().getAsDictionary(PdfName.Resources);
+            initialPageResourceClones.put(page, resources == null ? null : resources.clone());
+            if (!page.isFlushed()) {
+                PdfArray annots = page.getPdfObject().getAsArray(PdfName.Annots);
+                if (annots != null) {
+                    for (int j = 0; j < annots.size(); j++) {
+                        PdfDictionary annot = annots.getAsDictionary(j);
+                        if (annot != null && !annotationsToPages.containsKey(annot)) {
+                            annotationsToPages.put(annot, page);
+                        }
+                    }
+                }
+            }
         }
 
+        // All fields will be removed from the /Fields array at once after flattening, so there is no need
+        // to look them up and remove one by one.
+        boolean removeFlattenedFieldsOneByOne = fieldsForFlattening.size() != 0;
         Set<PdfPage> wrappedPages = new LinkedHashSet<>();
         PdfPage page;
         for (PdfFormField field : fields) {
             PdfDictionary fieldObject = field.getPdfObject();
-            page = getFieldPage(fieldObject);
+            page = getFieldPage(fieldObject, annotationsToPages);
             if (page == null) {
                 continue;
             }
@@ -700,7 +771,7 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
                     PdfObject xObjectResources = xObject.getPdfObject().get(PdfName.Resources);
                     PdfObject pageResources = page.getResources().getPdfObject();
                     if (xObjectResources != null && xObjectResources == pageResources) {
-                        xObject.getPdfObject().put(PdfName.Resources, initialPageResourceClones.get(document.getPageNumber(page)));
+                        xObject.getPdfObject().put(PdfName.Resources, initialPageResourceClones.get(page));
                     }
 
                     if (tagPointer != null) {
@@ -723,7 +794,9 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
             }
 
             PdfArray fFields = getFields();
-            fFields.remove(fieldObject);
+            if (removeFlattenedFieldsOneByOne) {
+                fFields.remove(fieldObject);
+            }
             if (annotation != null) {
                 page.removeAnnotation(annotation);
             }
@@ -733,10 +806,10 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
                 if (kids != null) {
                     kids.remove(fieldObject);
                     // TODO DEVSIX-2715 if parent was in it's turn the only child of it's parent, we should remove them recursively
-                    if (kids.isEmpty()) {
+                    if (kids.isEmpty() && removeFlattenedFieldsOneByOne) {
                         fFields.remove(parent);
                     }
-                } else {
+                } else if (removeFlattenedFieldsOneByOne) {
                     fFields.remove(parent);
                 }
             }
@@ -1068,6 +1141,15 @@ public class PdfAcroForm extends PdfObjectWrapper<PdfDictionary> {
         return null;
     }
 
+    private PdfPage getFieldPage(PdfDictionary annotDic, Map<PdfDictionary, PdfPage> annotationsToPages) {
+        PdfDictionary pageDic = annotDic.getAsDictionary(PdfName.P);
+        PdfPage page = annotationsToPages.get(annotDic);
+        if (pageDic != null) {
+            return page != null && page.getPdfObject() == pageDic ? page : document.getPage(pageDic);
+        }
+        return page != null && PdfAnnotation.makeAnnotation(annotDic) != null ? page : null;
+    }
+
     private Set<PdfFormField> prepareFieldsForFlattening(PdfFormField field) {
         Set<PdfFormField> preparedFields = new LinkedHashSet<>();
         preparedFields.add(field);
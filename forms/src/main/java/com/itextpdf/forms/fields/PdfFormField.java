@@ -1170,7 +1170,11 @@ public class PdfFormField extends PdfObjectWrapper<PdfDictionary> {
                 for (PdfObject kid: kids) {
                     if (kid.isDictionary() && ((PdfDictionary) kid).getAsString(PdfName.T) != null) {
                         PdfFormField field = new PdfFormField((PdfDictionary) kid);
-                        field.setValue(value);
+                        if (generateAppearance) {
+                            field.setValue(value);
+                        } else {
+                            field.setValue(value, false);
+                        }
                         if (field.getDefaultAppearance() == null) {
                             field.font = this.font;
                             field.fontSize = this.fontSize;
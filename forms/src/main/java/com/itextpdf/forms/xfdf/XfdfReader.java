@@ -62,6 +62,7 @@ import com.itextpdf.kernel.pdf.annot.PdfStampAnnotation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -106,15 +107,17 @@ class XfdfReader {
         if (fieldsObject != null && fieldsObject.getFieldList() != null && !fieldsObject.getFieldList().isEmpty()) {
 
             Map<String, PdfFormField> formFields = form.getFormFields();
+            Map<String, String> fieldValues = new LinkedHashMap<>();
 
             for (FieldObject xfdfField : fieldsObject.getFieldList()) {
                 String name = xfdfField.getName();
                 if (formFields.get(name) != null && xfdfField.getValue() != null) {
-                    formFields.get(name).setValue(xfdfField.getValue());
+                    fieldValues.put(name, xfdfField.getValue());
                 } else {
                     logger.error(LogMessageConstant.XFDF_NO_SUCH_FIELD_IN_PDF_DOCUMENT);
                 }
             }
+            form.setFieldValues(fieldValues);
         }
     }
 
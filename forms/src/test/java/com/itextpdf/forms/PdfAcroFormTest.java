@@ -22,7 +22,9 @@
  */
 package com.itextpdf.forms;
 
+import com.itextpdf.forms.fields.PdfFormField;
 import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfBoolean;
 import com.itextpdf.kernel.pdf.PdfDictionary;
@@ -44,6 +46,9 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Category(UnitTest.class)
 public class PdfAcroFormTest extends ExtendedITextTest {
 
@@ -231,6 +236,79 @@ public class PdfAcroFormTest extends ExtendedITextTest {
         Assert.assertTrue(isReleaseForbidden);
     }
 
+    @Test
+    public void flattenWidgetWithoutPageReferenceTest() {
+        PdfDocument outputDoc = createDocument();
+        outputDoc.addNewPage();
+        outputDoc.addNewPage();
+
+        PdfAcroForm acroForm = PdfAcroForm.getAcroForm(outputDoc, true);
+        PdfFormField field = PdfFormField.createText(outputDoc, new Rectangle(100, 700, 200, 20), "text", "value");
+        acroForm.addField(field, outputDoc.getPage(2));
+        field.getPdfObject().remove(PdfName.P);
+
+        acroForm.flattenFields();
+
+        Assert.assertEquals(0, outputDoc.getPage(2).getAnnotsSize());
+        Assert.assertEquals(1, outputDoc.getPage(2).getResources().getResourceNames(PdfName.XObject).size());
+        Assert.assertTrue(outputDoc.getPage(1).getResources().getResourceNames(PdfName.XObject).isEmpty());
+        Assert.assertTrue(outputDoc.getPage(3).getResources().getResourceNames(PdfName.XObject).isEmpty());
+        Assert.assertNull(outputDoc.getCatalog().getPdfObject().get(PdfName.AcroForm));
+        outputDoc.close();
+    }
+
+    @Test
+    public void setFieldValuesTest() {
+        PdfDocument outputDoc = createDocument();
+
+        PdfAcroForm acroForm = PdfAcroForm.getAcroForm(outputDoc, true);
+        acroForm.addField(PdfFormField.createText(outputDoc, new Rectangle(100, 700, 200, 20), "first", ""));
+        acroForm.addField(PdfFormField.createText(outputDoc, new Rectangle(100, 650, 200, 20), "second", ""));
+
+        Map<String, String> fieldValues = new LinkedHashMap<>();
+        fieldValues.put("first", "first value");
+        fieldValues.put("second", "second value");
+        fieldValues.put("missing", "ignored value");
+        acroForm.setFieldValues(fieldValues);
+
+        PdfFormField first = acroForm.getField("first");
+        PdfFormField second = acroForm.getField("second");
+        Assert.assertEquals("first value", first.getValueAsString());
+        Assert.assertEquals("second value", second.getValueAsString());
+        Assert.assertNotNull(first.getPdfObject().getAsDictionary(PdfName.AP).getAsStream(PdfName.N));
+        Assert.assertNotNull(second.getPdfObject().getAsDictionary(PdfName.AP).getAsStream(PdfName.N));
+        Assert.assertNull(acroForm.getField("missing"));
+        outputDoc.close();
+    }
+
+    @Test
+    public void setFieldValuesRegeneratesParentAndKidOnceTest() {
+        PdfDocument outputDoc = createDocument();
+
+        PdfAcroForm acroForm = PdfAcroForm.getAcroForm(outputDoc, true);
+        PdfFormField parent = PdfFormField.createEmptyField(outputDoc);
+        parent.setFieldName("parent");
+        PdfFormField kid = PdfFormField.createText(outputDoc, new Rectangle(100, 700, 200, 20), "kid", "");
+        parent.addKid(kid);
+        acroForm.addField(parent);
+
+        // each appearance generation of a text field creates a new indirect appearance stream
+        int objectsCount = outputDoc.getNumberOfPdfObjects();
+        acroForm.getField("parent.kid").regenerateField();
+        int objectsPerRegeneration = outputDoc.getNumberOfPdfObjects() - objectsCount;
+        Assert.assertTrue(objectsPerRegeneration > 0);
+
+        Map<String, String> fieldValues = new LinkedHashMap<>();
+        fieldValues.put("parent", "parent value");
+        fieldValues.put("parent.kid", "kid value");
+        objectsCount = outputDoc.getNumberOfPdfObjects();
+        acroForm.setFieldValues(fieldValues);
+
+        Assert.assertEquals(objectsPerRegeneration, outputDoc.getNumberOfPdfObjects() - objectsCount);
+        Assert.assertEquals("kid value", acroForm.getField("parent.kid").getValueAsString());
+        outputDoc.close();
+    }
+
     private static PdfDocument createDocument() {
         PdfDocument outputDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
         outputDoc.addNewPage();
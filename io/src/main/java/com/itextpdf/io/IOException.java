@@ -98,6 +98,7 @@ public class IOException extends RuntimeException {
     public static final String GtNotExpected = "'>' not expected.";
     public static final String IccProfileContains0ComponentsWhileImageDataContains1Components = "ICC profile contains {0} components, while the image data contains {1} components.";
     public static final String IllegalValueForPredictorInTiffFile = "Illegal value for predictor in TIFF file.";
+    public static final String ImageFile1WasModifiedOrRemovedAfterTheImageWasCreated = "Image file {0} was modified or removed after the image was created.";
     public static final String ImageFormatCannotBeRecognized = "Image format cannot be recognized.";
     public static final String ImageIsNotMaskYouMustCallImageDataMakeMask = "Image is not a mask. You must call ImageData#makeMask().";
     public static final String ImageMaskCannotContainAnotherImageMask = "Image mask cannot contain another image mask.";
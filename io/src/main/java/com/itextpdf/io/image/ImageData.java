@@ -53,6 +53,9 @@ import com.itextpdf.io.util.StreamUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Map;
 
@@ -114,6 +117,15 @@ public abstract class ImageData {
 
     protected Long mySerialId = getSerialId();
 
+    /** Length of the local file at the moment its headers were parsed, or -1 if the data isn't read on demand. */
+    private long localFileLength = -1;
+
+    /** Modification time of the local file at the moment its headers were parsed. */
+    private long localFileLastModified;
+
+    /** Data read on demand from the local file, kept as long as there is enough memory for it. */
+    private SoftReference<byte[]> localFileData;
+
     protected ImageData(URL url, ImageType type) {
         this.url = url;
         this.originalType = type;
@@ -342,11 +354,78 @@ public abstract class ImageData {
      * @throws java.io.IOException
      */
     void loadData() throws java.io.IOException {
+        data = readData();
+    }
+
+    /**
+     * Reads data from URL without keeping it in this instance. url must be not null.
+     * @return the data read from URL
+     * @throws java.io.IOException
+     */
+    byte[] readData() throws java.io.IOException {
         RandomAccessFileOrArray raf = new RandomAccessFileOrArray(new RandomAccessSourceFactory().createSource(url));
         ByteArrayOutputStream stream = new ByteArrayOutputStream();
         StreamUtil.transferBytes(raf, stream);
         raf.close();
-        data = stream.toByteArray();
+        return stream.toByteArray();
+    }
+
+    /**
+     * Remembers the length and the modification time of the local file whose headers are about to be parsed,
+     * so that {@link #readLocalFileData()} can detect that the file was changed afterwards.
+     * @param file the local file this image was created from
+     */
+    void rememberLocalFileState(File file) {
+        localFileLength = file.length();
+        localFileLastModified = file.lastModified();
+    }
+
+    /**
+     * Gets the data of the local file which was not loaded when the image was created.
+     * The data is read from the file on the first request and is kept softly reachable afterwards.
+     * @return the data of the local file
+     * @throws IOException if the file was modified or removed since its headers were parsed
+     * @throws java.io.IOException
+     */
+    byte[] readLocalFileData() throws java.io.IOException {
+        byte[] bytes = localFileData == null ? null : localFileData.get();
+        if (bytes == null) {
+            checkLocalFileState();
+            bytes = readData();
+            // The file could still have been replaced between the check and the reading
+            checkLocalFileState();
+            if (bytes.length != localFileLength) {
+                throw new IOException(IOException.ImageFile1WasModifiedOrRemovedAfterTheImageWasCreated)
+                        .setMessageParams(url);
+            }
+            localFileData = new SoftReference<>(bytes);
+        }
+        return bytes;
+    }
+
+    private void checkLocalFileState() {
+        File file = getLocalFile();
+        if (file == null || file.length() != localFileLength || file.lastModified() != localFileLastModified) {
+            throw new IOException(IOException.ImageFile1WasModifiedOrRemovedAfterTheImageWasCreated)
+                    .setMessageParams(url);
+        }
+    }
+
+    /**
+     * Gets the local file this image was created from, so that only the needed parts of it
+     * can be read instead of loading the whole file into memory.
+     * @return the file, or null if the image wasn't created from a URL of a readable local file
+     */
+    File getLocalFile() {
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            File file = new File(url.toURI());
+            return file.isFile() && file.canRead() ? file : null;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     /** Creates a new serial id.
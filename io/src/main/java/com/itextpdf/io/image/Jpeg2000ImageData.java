@@ -43,6 +43,7 @@
  */
 package com.itextpdf.io.image;
 
+import com.itextpdf.io.IOException;
 import com.itextpdf.io.LogMessageConstant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -112,4 +113,24 @@ public class Jpeg2000ImageData extends ImageData {
     public Jpeg2000ImageData.Parameters getParameters() {
         return parameters;
     }
+
+    /**
+     * Gets the encoded image data. If the image was created from a local file, only the headers are parsed
+     * on creation. The data is read from the file when it's first requested and is kept as long as there is
+     * enough memory for it.
+     *
+     * @return the encoded image data
+     * @throws IOException if the file was modified or removed after the image was created
+     */
+    @Override
+    public byte[] getData() {
+        if (data == null && getUrl() != null) {
+            try {
+                return readLocalFileData();
+            } catch (java.io.IOException e) {
+                throw new IOException(IOException.Jpeg2000ImageException, e);
+            }
+        }
+        return data;
+    }
 }
@@ -46,7 +46,10 @@ package com.itextpdf.io.image;
 import com.itextpdf.io.IOException;
 import com.itextpdf.io.util.StreamUtil;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 
@@ -90,11 +93,22 @@ final class Jpeg2000ImageHelper {
      */
     private static void processParameters(Jpeg2000ImageData jp2) {
         jp2.parameters = new Jpeg2000ImageData.Parameters();
+        InputStream jpeg2000Stream = null;
         try {
-            if (jp2.getData() == null) {
-                jp2.loadData();
+            if (jp2.data == null) {
+                File file = jp2.getLocalFile();
+                if (file != null) {
+                    // Only the headers are parsed, the encoded data is read from the file when it's requested,
+                    // so that it isn't kept in memory for as long as the image is used
+                    jp2.rememberLocalFileState(file);
+                    jpeg2000Stream = new BufferedInputStream(new FileInputStream(file));
+                } else {
+                    jp2.loadData();
+                }
+            }
+            if (jpeg2000Stream == null) {
+                jpeg2000Stream = new ByteArrayInputStream(jp2.data);
             }
-            InputStream jpeg2000Stream = new ByteArrayInputStream(jp2.getData());
             Jpeg2000Box box = new Jpeg2000Box();
             box.length = cio_read(4, jpeg2000Stream);
             if (box.length == 0x0000000c) {
@@ -169,6 +183,12 @@ final class Jpeg2000ImageHelper {
             }
         } catch (java.io.IOException e) {
             throw new IOException(IOException.Jpeg2000ImageException, e);
+        } finally {
+            if (jpeg2000Stream != null) {
+                try {
+                    jpeg2000Stream.close();
+                } catch (java.io.IOException ignore) { }
+            }
         }
     }
 
@@ -43,6 +43,8 @@
  */
 package com.itextpdf.io.image;
 
+import com.itextpdf.io.IOException;
+
 import java.net.URL;
 
 public class JpegImageData extends ImageData {
@@ -54,4 +56,24 @@ public class JpegImageData extends ImageData {
     protected JpegImageData(byte[] bytes) {
         super(bytes, ImageType.JPEG);
     }
+
+    /**
+     * Gets the encoded image data. If the image was created from a local file, only the headers are parsed
+     * on creation. The data is read from the file when it's first requested and is kept as long as there is
+     * enough memory for it.
+     *
+     * @return the encoded image data
+     * @throws IOException if the file was modified or removed after the image was created
+     */
+    @Override
+    public byte[] getData() {
+        if (data == null && getUrl() != null) {
+            try {
+                return readLocalFileData();
+            } catch (java.io.IOException e) {
+                throw new IOException(IOException.JpegImageException, e);
+            }
+        }
+        return data;
+    }
 }
@@ -48,6 +48,9 @@ import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.colors.IccProfile;
 
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.InputStream;
 import com.itextpdf.io.util.MessageFormatUtil;
 import java.util.HashMap;
@@ -133,14 +136,25 @@ class JpegImageHelper {
         InputStream jpegStream = null;
         try {
             String errorID;
-            if (image.getData() == null) {
-                image.loadData();
+            if (image.data == null) {
                 errorID = image.getUrl().toString();
+                File file = image.getLocalFile();
+                if (file != null) {
+                    // Only the headers are parsed, the encoded data is read from the file when it's requested,
+                    // so that it isn't kept in memory for as long as the image is used
+                    image.rememberLocalFileState(file);
+                    jpegStream = new BufferedInputStream(new FileInputStream(file));
+                    image.imageSize = (int) file.length();
+                } else {
+                    image.loadData();
+                }
             } else {
                 errorID = "Byte array";
             }
-            jpegStream = new java.io.ByteArrayInputStream(image.getData());
-            image.imageSize = image.getData().length;
+            if (jpegStream == null) {
+                jpegStream = new java.io.ByteArrayInputStream(image.data);
+                image.imageSize = image.data.length;
+            }
             processParameters(jpegStream, errorID, image);
         } catch (java.io.IOException e) {
             throw new IOException(IOException.JpegImageException, e);
@@ -50,6 +50,7 @@ import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.colors.IccProfile;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteBuffer;
+import com.itextpdf.io.source.DeflaterOutputStream;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
@@ -57,6 +58,7 @@ import com.itextpdf.io.util.MessageFormatUtil;
 
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -79,6 +81,12 @@ class PngImageHelper {
         Map<String, Object> additional = new HashMap<>();
         byte[] imageData;
         byte[] smask;
+        // if true, imageData and smask hold a single decoded row which is deflated as soon as it is decoded
+        boolean deflateRows;
+        ByteArrayOutputStream deflatedImageData;
+        ByteArrayOutputStream deflatedSmask;
+        DeflaterOutputStream imageDataZip;
+        DeflaterOutputStream smaskZip;
         byte[] trans;
         ByteArrayOutputStream idat = new ByteArrayOutputStream();
         int dpiX;
@@ -248,6 +256,7 @@ class PngImageHelper {
                 } else {
                     RawImageHelper.updateRawImageParameters(png.image, png.width, png.height, components, bpc, png.imageData, null);
                 }
+                png.image.setDeflated(png.deflateRows);
             } else {
                 RawImageHelper.updateRawImageParameters(png.image, png.width, png.height, components, bpc, png.idat.toByteArray());
                 png.image.setDeflated(true);
@@ -265,12 +274,14 @@ class PngImageHelper {
             if (png.palShades) {
                 RawImageData im2 = (RawImageData) ImageDataFactory.createRawImage(null);
                 RawImageHelper.updateRawImageParameters(im2, png.width, png.height, 1, 8, png.smask);
+                im2.setDeflated(png.deflateRows);
                 im2.makeMask();
                 png.image.setImageMask(im2);
             }
             if (png.genBWMask) {
                 RawImageData im2 = (RawImageData) ImageDataFactory.createRawImage(null);
                 RawImageHelper.updateRawImageParameters(im2, png.width, png.height, 1, 1, png.smask);
+                im2.setDeflated(png.deflateRows);
                 im2.makeMask();
                 png.image.setImageMask(im2);
             }
@@ -442,40 +453,53 @@ class PngImageHelper {
         return true;
     }
 
-    private static void decodeIdat(PngParameters png) {
+    private static void decodeIdat(PngParameters png) throws java.io.IOException {
         int nbitDepth = png.bitDepth;
         if (nbitDepth == 16)
             nbitDepth = 8;
-        int size = -1;
+        int rowSize = -1;
         png.bytesPerPixel = (png.bitDepth == 16) ? 2 : 1;
         switch (png.image.getColorType()) {
             case 0:
-                size = (nbitDepth * png.width + 7) / 8 * png.height;
+                rowSize = (nbitDepth * png.width + 7) / 8;
                 break;
             case 2:
-                size = png.width * 3 * png.height;
+                rowSize = png.width * 3;
                 png.bytesPerPixel *= 3;
                 break;
             case 3:
                 if (png.interlaceMethod == 1)
-                    size = (nbitDepth * png.width + 7) / 8 * png.height;
+                    rowSize = (nbitDepth * png.width + 7) / 8;
                 png.bytesPerPixel = 1;
                 break;
             case 4:
-                size = png.width * png.height;
+                rowSize = png.width;
                 png.bytesPerPixel *= 2;
                 break;
             case 6:
-                size = png.width * 3 * png.height;
+                rowSize = png.width * 3;
                 png.bytesPerPixel *= 4;
                 break;
         }
-        if (size >= 0)
-            png.imageData = new byte[size];
+        // Rows of a non-interlaced image are decoded in order, so instead of buffering the whole decoded image
+        // and its mask, each row is deflated right away. Interlaced images are decoded pass by pass.
+        png.deflateRows = png.interlaceMethod != 1;
+        int rows = png.deflateRows ? 1 : png.height;
+        if (rowSize >= 0) {
+            png.imageData = new byte[rowSize * rows];
+            if (png.deflateRows) {
+                png.deflatedImageData = new ByteArrayOutputStream();
+                png.imageDataZip = new DeflaterOutputStream(png.deflatedImageData);
+            }
+        }
         if (png.palShades)
-            png.smask = new byte[png.width * png.height];
+            png.smask = new byte[png.width * rows];
         else if (png.genBWMask)
-            png.smask = new byte[(png.width + 7) / 8 * png.height];
+            png.smask = new byte[(png.width + 7) / 8 * rows];
+        if (png.smask != null && png.deflateRows) {
+            png.deflatedSmask = new ByteArrayOutputStream();
+            png.smaskZip = new DeflaterOutputStream(png.deflatedSmask);
+        }
         ByteArrayInputStream bai = new ByteArrayInputStream(png.idat.toByteArray());
         png.dataStream = FilterUtil.getInflaterInputStream(bai);
 
@@ -491,10 +515,30 @@ class PngImageHelper {
             decodePass(0, 1, 1, 2, png.width, png.height / 2, png);
         }
 
+        if (png.imageDataZip != null) {
+            png.imageDataZip.close();
+            png.imageData = png.deflatedImageData.toByteArray();
+        }
+        if (png.smaskZip != null) {
+            png.smaskZip.close();
+            png.smask = png.deflatedSmask.toByteArray();
+        }
+    }
+
+    private static void deflateDecodedRow(PngParameters png) throws java.io.IOException {
+        if (png.imageDataZip != null) {
+            png.imageDataZip.write(png.imageData);
+            Arrays.fill(png.imageData, (byte) 0);
+        }
+        if (png.smaskZip != null) {
+            png.smaskZip.write(png.smask);
+            // pixels of 1-bit masks are or-ed into the row, so it has to be cleared
+            Arrays.fill(png.smask, (byte) 0);
+        }
     }
 
     private static void decodePass(int xOffset, int yOffset, int xStep, int yStep,
-                                   int passWidth, int passHeight, PngParameters png) {
+                                   int passWidth, int passHeight, PngParameters png) throws java.io.IOException {
         if ((passWidth == 0) || (passHeight == 0)) {
             return;
         }
@@ -537,7 +581,12 @@ class PngImageHelper {
                     throw new IOException(IOException.UnknownPngFilter);
             }
 
-            processPixels(curr, xOffset, xStep, dstY, passWidth, png);
+            if (png.deflateRows) {
+                processPixels(curr, xOffset, xStep, 0, passWidth, png);
+                deflateDecodedRow(png);
+            } else {
+                processPixels(curr, xOffset, xStep, dstY, passWidth, png);
+            }
 
             // Swap curr and prior
             byte[] tmp = prior;
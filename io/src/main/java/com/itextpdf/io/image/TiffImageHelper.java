@@ -59,6 +59,7 @@ import com.itextpdf.io.source.IRandomAccessSource;
 import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.util.FilterUtil;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -82,15 +83,14 @@ class TiffImageHelper {
         if (image.getOriginalType() != ImageType.TIFF)
             throw new IllegalArgumentException("TIFF image expected");
         try {
-            IRandomAccessSource ras;
-            if (image.getData() == null) {
-                image.loadData();
-            }
-            ras = new RandomAccessSourceFactory().createSource(image.getData());
+            IRandomAccessSource ras = createTiffSource(image);
             RandomAccessFileOrArray raf = new RandomAccessFileOrArray(ras);
             TiffParameters tiff = new TiffParameters((TiffImageData)image);
-            processTiffImage(raf, tiff);
-            raf.close();
+            try {
+                processTiffImage(raf, tiff);
+            } finally {
+                raf.close();
+            }
 
             if (!tiff.jpegProcessing) {
                 RawImageHelper.updateImageAttributes(tiff.image, tiff.additional);
@@ -100,6 +100,22 @@ class TiffImageHelper {
         }
     }
 
+    /**
+     * Creates the source to read the TIFF from. Local files are accessed directly rather than read into memory:
+     * a multi-page TIFF is processed once per page and only the directory and strips of that page are needed,
+     * so reading the whole file for every page would make importing big scans quadratic in the file size.
+     */
+    private static IRandomAccessSource createTiffSource(ImageData image) throws java.io.IOException {
+        if (image.getData() == null) {
+            File file = image.getLocalFile();
+            if (file != null) {
+                return new RandomAccessSourceFactory().createBestSource(file.getPath());
+            }
+            image.loadData();
+        }
+        return new RandomAccessSourceFactory().createSource(image.getData());
+    }
+
     private static void processTiffImage(RandomAccessFileOrArray s, TiffParameters tiff) {
         boolean recoverFromImageError = tiff.image.isRecoverFromImageError();
         int page = tiff.image.getPage();
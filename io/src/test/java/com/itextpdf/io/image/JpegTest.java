@@ -42,14 +42,20 @@
  */
 package com.itextpdf.io.image;
 
+import com.itextpdf.io.util.MessageFormatUtil;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import org.junit.Assert;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
@@ -57,6 +63,12 @@ import org.junit.experimental.categories.Category;
 public class JpegTest extends ExtendedITextTest {
 
     public static final String SOURCE_FOLDER = "./src/test/resources/com/itextpdf/io/image/";
+    public static final String DESTINATION_FOLDER = "./target/test/com/itextpdf/io/image/JpegTest/";
+
+    @BeforeClass
+    public static void beforeClass() {
+        createDestinationFolder(DESTINATION_FOLDER);
+    }
 
     @Test
     public void openJpeg1() throws IOException {
@@ -112,4 +124,64 @@ public class JpegTest extends ExtendedITextTest {
         Assert.assertEquals(1456, img.getHeight(), 0);
         Assert.assertEquals(8, img.getBpc());
     }
+
+    @Test
+    public void jpegFromFileIsReadOnDemandTest() throws IOException {
+        String fileName = SOURCE_FOLDER + "WP_20140410_001_gray.jpg";
+        byte[] fileBytes;
+        try (FileInputStream fis = new FileInputStream(fileName)) {
+            fileBytes = StreamUtil.inputStreamToArray(fis);
+        }
+        ImageData img = ImageDataFactory.createJpeg(UrlUtil.toURL(fileName));
+        Assert.assertEquals(2592, img.getWidth(), 0);
+        Assert.assertEquals(1456, img.getHeight(), 0);
+        Assert.assertEquals(1, img.getColorSpace());
+        Assert.assertNull(img.data);
+        Assert.assertEquals(fileBytes.length, img.imageSize);
+        Assert.assertArrayEquals(fileBytes, img.getData());
+    }
+
+    @Test
+    public void jpegDataIsReadOnceTest() throws IOException {
+        ImageData img = ImageDataFactory.createJpeg(UrlUtil.toURL(SOURCE_FOLDER + "WP_20140410_001_gray.jpg"));
+        Assert.assertSame(img.getData(), img.getData());
+    }
+
+    @Test
+    public void jpegFileModifiedAfterImageCreationTest() throws IOException {
+        String fileName = DESTINATION_FOLDER + "modifiedAfterImageCreation.jpg";
+        Files.copy(Paths.get(SOURCE_FOLDER + "WP_20140410_001_gray.jpg"), Paths.get(fileName),
+                StandardCopyOption.REPLACE_EXISTING);
+        ImageData img = ImageDataFactory.createJpeg(UrlUtil.toURL(fileName));
+        Assert.assertEquals(1, img.getColorSpace());
+
+        // Replace the file with another image, its headers don't match the parsed ones anymore
+        Files.copy(Paths.get(SOURCE_FOLDER + "WP_20140410_001.jpg"), Paths.get(fileName),
+                StandardCopyOption.REPLACE_EXISTING);
+        try {
+            img.getData();
+            Assert.fail("The modified file must not be read");
+        } catch (com.itextpdf.io.IOException e) {
+            Assert.assertEquals(MessageFormatUtil.format(
+                    com.itextpdf.io.IOException.ImageFile1WasModifiedOrRemovedAfterTheImageWasCreated, img.getUrl()),
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    public void jpegFileRemovedAfterImageCreationTest() throws IOException {
+        String fileName = DESTINATION_FOLDER + "removedAfterImageCreation.jpg";
+        Files.copy(Paths.get(SOURCE_FOLDER + "WP_20140410_001_gray.jpg"), Paths.get(fileName),
+                StandardCopyOption.REPLACE_EXISTING);
+        ImageData img = ImageDataFactory.createJpeg(UrlUtil.toURL(fileName));
+        Assert.assertTrue(new File(fileName).delete());
+        try {
+            img.getData();
+            Assert.fail("The removed file must not be read");
+        } catch (com.itextpdf.io.IOException e) {
+            Assert.assertEquals(MessageFormatUtil.format(
+                    com.itextpdf.io.IOException.ImageFile1WasModifiedOrRemovedAfterTheImageWasCreated, img.getUrl()),
+                    e.getMessage());
+        }
+    }
 }
@@ -22,6 +22,7 @@
  */
 package com.itextpdf.io.image;
 
+import com.itextpdf.io.util.FilterUtil;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.UrlUtil;
 import com.itextpdf.test.ExtendedITextTest;
@@ -319,4 +320,26 @@ public class PngTest extends ExtendedITextTest {
             Assert.assertEquals(0.06f, pngChromaticities.getYB(), 0.0001f);
         }
     }
+
+    @Test
+    public void rgba8BpcDecodedRowsAreDeflatedTest() throws IOException {
+        ImageData img = ImageDataFactory.create(sourceFolder + "rgba8Bpc.png");
+        Assert.assertTrue(img.isDeflated());
+        Assert.assertEquals((int) img.getWidth() * (int) img.getHeight() * 3, FilterUtil.flateDecode(img.getData()).length);
+
+        ImageData mask = img.getImageMask();
+        Assert.assertNotNull(mask);
+        Assert.assertTrue(mask.isDeflated());
+        Assert.assertEquals((int) img.getWidth() * (int) img.getHeight(), FilterUtil.flateDecode(mask.getData()).length);
+    }
+
+    @Test
+    public void rgba16BpcDecodedRowsAreDeflatedTest() throws IOException {
+        ImageData img = ImageDataFactory.create(sourceFolder + "rgba16Bpc.png");
+        Assert.assertEquals(8, img.getBpc());
+        Assert.assertTrue(img.isDeflated());
+        Assert.assertEquals((int) img.getWidth() * (int) img.getHeight() * 3, FilterUtil.flateDecode(img.getData()).length);
+        Assert.assertEquals((int) img.getWidth() * (int) img.getHeight(),
+                FilterUtil.flateDecode(img.getImageMask().getData()).length);
+    }
 }
@@ -122,4 +122,18 @@ public class TiffTest extends ExtendedITextTest {
         String[] stringArray = new String[] {"iText? 7.1.7-SNAPSHOT ?2000-2019 iText Group NV (AGPL-version)\u0000"};
         Assert.assertArrayEquals(stringArray, dir.getField(305).getAsStrings());
     }
+
+    @Test
+    public void tiffFromFileUrlIsNotLoadedIntoMemoryTest() throws IOException {
+        String fileName = sourceFolder + "WP_20140410_001_gray.tiff";
+        ImageData imgFromUrl = ImageDataFactory.createTiff(UrlUtil.toURL(fileName), false, 1, false);
+        ImageData imgFromBytes;
+        try (FileInputStream stream = new FileInputStream(fileName)) {
+            imgFromBytes = ImageDataFactory.createTiff(StreamUtil.inputStreamToArray(stream), false, 1, false);
+        }
+        Assert.assertEquals(imgFromBytes.getWidth(), imgFromUrl.getWidth(), 0);
+        Assert.assertEquals(imgFromBytes.getHeight(), imgFromUrl.getHeight(), 0);
+        Assert.assertEquals(imgFromBytes.getBpc(), imgFromUrl.getBpc());
+        Assert.assertArrayEquals(imgFromBytes.getData(), imgFromUrl.getData());
+    }
 }
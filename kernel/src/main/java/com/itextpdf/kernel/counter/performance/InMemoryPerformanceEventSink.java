@@ -0,0 +1,169 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.counter.performance;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link IPerformanceEventSink} which aggregates the events in memory, grouped by
+ * {@link PerformanceEvent#getEventType()}, e.g. {@code perf-stream_decode-FlateDecode}.
+ * For each group the number of events, the total and maximum duration, the total number of bytes
+ * and a histogram of durations with power-of-two buckets are collected.
+ */
+public class InMemoryPerformanceEventSink implements IPerformanceEventSink {
+
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPerformanceEvent(PerformanceEvent event) {
+        String key = event.getEventType();
+        Statistics stats = statistics.get(key);
+        if (stats == null) {
+            stats = new Statistics();
+            Statistics existing = statistics.putIfAbsent(key, stats);
+            if (existing != null) {
+                stats = existing;
+            }
+        }
+        stats.add(event.getDurationNanos(), event.getBytes());
+    }
+
+    /**
+     * Gets the collected statistics.
+     *
+     * @return an unmodifiable snapshot of the statistics, mapped by the event type
+     */
+    public Map<String, Statistics> getStatistics() {
+        Map<String, Statistics> snapshot = new HashMap<>();
+        for (Map.Entry<String, Statistics> entry : statistics.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().copy());
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * Discards all the collected statistics.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * Aggregated statistics of a single event type.
+     */
+    public static class Statistics {
+        private static final int BUCKETS = 64;
+
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long totalBytes;
+        private final long[] histogram = new long[BUCKETS];
+
+        Statistics() {
+        }
+
+        synchronized void add(long durationNanos, long bytes) {
+            count++;
+            totalNanos += durationNanos;
+            maxNanos = Math.max(maxNanos, durationNanos);
+            if (bytes > 0) {
+                totalBytes += bytes;
+            }
+            histogram[durationNanos <= 0 ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(durationNanos)]++;
+        }
+
+        synchronized Statistics copy() {
+            Statistics copy = new Statistics();
+            copy.count = count;
+            copy.totalNanos = totalNanos;
+            copy.maxNanos = maxNanos;
+            copy.totalBytes = totalBytes;
+            System.arraycopy(histogram, 0, copy.histogram, 0, BUCKETS);
+            return copy;
+        }
+
+        /**
+         * @return the number of events
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the total duration of all events in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return the maximum duration of a single event in nanoseconds
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * @return the total number of processed bytes, events with unknown volume are not taken into account
+         */
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        /**
+         * Gets the histogram of durations. The element with index {@code i} holds the number of events
+         * with the duration in range [2<sup>i</sup>, 2<sup>i+1</sup>) nanoseconds.
+         *
+         * @return a copy of the histogram
+         */
+        public long[] getHistogram() {
+            long[] copy = new long[BUCKETS];
+            System.arraycopy(histogram, 0, copy, 0, BUCKETS);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.counter.performance;
+
+import com.itextpdf.kernel.counter.NamespaceConstant;
+import com.itextpdf.kernel.counter.event.IGenericEvent;
+
+/**
+ * Event which describes the time and the volume of data spent in a single {@link PerformancePhase}.
+ */
+public class PerformanceEvent implements IGenericEvent {
+
+    private final PerformancePhase phase;
+    private final String detail;
+    private final long durationNanos;
+    private final long bytes;
+
+    /**
+     * Creates a new performance event.
+     *
+     * @param phase         the phase which has been completed
+     * @param detail        the phase detail, e.g. the filter name for {@link PerformancePhase#STREAM_DECODE}, may be null
+     * @param durationNanos the time spent in the phase in nanoseconds, excluding nested phases
+     * @param bytes         the number of bytes processed in the phase, or -1 if it is unknown
+     */
+    public PerformanceEvent(PerformancePhase phase, String detail, long durationNanos, long bytes) {
+        this.phase = phase;
+        this.detail = detail;
+        this.durationNanos = durationNanos;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Gets the phase which has been completed.
+     *
+     * @return the {@link PerformancePhase}
+     */
+    public PerformancePhase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Gets the phase detail, e.g. the filter name or the renderer class name.
+     *
+     * @return the detail or null if the phase has no detail
+     */
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * Gets the time spent in the phase. The time of the nested phases, e.g. {@link PerformancePhase#COMPRESSION}
+     * inside {@link PerformancePhase#FLUSH}, is not included.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Gets the number of bytes processed in the phase.
+     *
+     * @return the number of bytes or -1 if it is unknown
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public String getEventType() {
+        String type = "perf-" + phase.name().toLowerCase();
+        return detail == null ? type : type + "-" + detail;
+    }
+
+    @Override
+    public String getOriginId() {
+        return NamespaceConstant.ITEXT;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.counter.performance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Manager that dispatches {@link PerformanceEvent} instances to the registered {@link IPerformanceEventSink} instances.
+ * <p>
+ * Instrumented code brackets a phase with {@link #start()} and
+ * {@link #finish(PerformancePhase, String, long, long)}:
+ * <pre>
+ * long start = PerformanceEventHandler.getInstance().start();
+ * ...
+ * if (start != PerformanceEventHandler.DISABLED) {
+ *     PerformanceEventHandler.getInstance().finish(PerformancePhase.FLUSH, detail, start, bytes);
+ * }
+ * </pre>
+ * As long as no sink is registered {@link #start()} does not read the clock and returns {@link #DISABLED}.
+ * Instrumented code checks the returned value before calling {@link #finish(PerformancePhase, String, long, long)},
+ * so that neither the event detail nor the number of bytes is computed and the instrumentation costs
+ * a single volatile read per phase.
+ * <p>
+ * Phases may be nested, e.g. {@link PerformancePhase#COMPRESSION} happens inside {@link PerformancePhase#FLUSH}
+ * which in turn may happen inside {@link PerformancePhase#LAYOUT} when the document is flushed immediately.
+ * The reported durations are exclusive: the time of the phases which were finished on the same thread between
+ * {@link #start()} and {@link #finish(PerformancePhase, String, long, long)} is subtracted from the enclosing phase,
+ * so that the durations of all phases add up to the total instrumented time.
+ * <p>
+ * {@link InMemoryPerformanceEventSink} is a simple sink which aggregates the events in memory.
+ */
+public class PerformanceEventHandler {
+
+    /**
+     * The value returned by {@link #start()} when no sink is registered.
+     */
+    public static final long DISABLED = Long.MIN_VALUE;
+
+    /**
+     * The singleton instance.
+     */
+    private static final PerformanceEventHandler instance = new PerformanceEventHandler();
+
+    /**
+     * All registered sinks.
+     */
+    private final Map<IPerformanceEventSink, Boolean> sinks = new ConcurrentHashMap<>();
+
+    /**
+     * Per-thread sum of the reported phase durations, used to exclude nested phases from the enclosing ones.
+     */
+    private final ThreadLocal<long[]> reportedNanos = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            return new long[1];
+        }
+    };
+
+    private volatile boolean enabled = false;
+
+    private PerformanceEventHandler() {
+    }
+
+    /**
+     * @return the singleton instance of the handler.
+     */
+    public static PerformanceEventHandler getInstance() {
+        return instance;
+    }
+
+    /**
+     * Checks whether at least one {@link IPerformanceEventSink} is registered.
+     *
+     * @return {@code true} if performance events are emitted
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Marks the beginning of a phase.
+     *
+     * @return the opaque start mark to be passed to {@link #finish(PerformancePhase, String, long, long)},
+     * or {@link #DISABLED} if no sink is registered
+     */
+    public long start() {
+        return enabled ? System.nanoTime() - reportedNanos.get()[0] : DISABLED;
+    }
+
+    /**
+     * Marks the end of a phase and sends the corresponding {@link PerformanceEvent} to all registered sinks.
+     * Does nothing if the phase was started while no sink was registered.
+     *
+     * @param phase      the completed {@link PerformancePhase}
+     * @param detail     the phase detail, may be null
+     * @param startNanos the value returned by {@link #start()} at the beginning of the phase
+     * @param bytes      the number of bytes processed in the phase, or -1 if it is unknown
+     */
+    public void finish(PerformancePhase phase, String detail, long startNanos, long bytes) {
+        if (startNanos == DISABLED || !enabled) {
+            return;
+        }
+        long[] reported = reportedNanos.get();
+        // the start mark is shifted by the durations reported before the phase started,
+        // so subtracting the current sum leaves the time not covered by nested phases
+        long durationNanos = System.nanoTime() - reported[0] - startNanos;
+        reported[0] += durationNanos;
+        PerformanceEvent event = new PerformanceEvent(phase, detail, durationNanos, bytes);
+        for (IPerformanceEventSink sink : sinks.keySet()) {
+            sink.onPerformanceEvent(event);
+        }
+    }
+
+    /**
+     * Register new {@link IPerformanceEventSink}. Does nothing if same sink was already registered.
+     *
+     * @param sink {@link IPerformanceEventSink} to be registered
+     */
+    public synchronized void register(IPerformanceEventSink sink) {
+        if (sink != null) {
+            sinks.put(sink, true);
+            enabled = true;
+        }
+    }
+
+    /**
+     * Checks whether the specified {@link IPerformanceEventSink} is registered.
+     *
+     * @param sink {@link IPerformanceEventSink} to be checked
+     * @return {@code true} if the specified sink is registered
+     */
+    public boolean isRegistered(IPerformanceEventSink sink) {
+        if (sink != null) {
+            return sinks.containsKey(sink);
+        }
+        return false;
+    }
+
+    /**
+     * Unregister specified {@link IPerformanceEventSink}. Does nothing if this sink wasn't registered first.
+     *
+     * @param sink {@link IPerformanceEventSink} to be unregistered
+     * @return {@code true} if specified sink was registered first
+     */
+    public synchronized boolean unregister(IPerformanceEventSink sink) {
+        if (sink != null) {
+            // Synchronized with register, so that a sink registered concurrently can't be left disabled
+            boolean removed = sinks.remove(sink) != null;
+            enabled = !sinks.isEmpty();
+            return removed;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.counter.performance;
+
+/**
+ * Processing phases which are timed when performance instrumentation is enabled,
+ * see {@link PerformanceEventHandler}.
+ */
+public enum PerformancePhase {
+    /**
+     * Reading of the cross-reference table or stream and the trailer of an existing document.
+     */
+    XREF_READ,
+    /**
+     * Parsing of a single indirect object of an existing document.
+     */
+    OBJECT_PARSE,
+    /**
+     * Decoding of stream bytes with a single filter. The filter name is reported as the event detail.
+     */
+    STREAM_DECODE,
+    /**
+     * Subsetting of an embedded font program. The font name is reported as the event detail.
+     */
+    FONT_SUBSET,
+    /**
+     * Layout of a top-level renderer. The renderer class name is reported as the event detail.
+     * Flushing of the pages which were completed during the layout is reported as {@link #FLUSH}
+     * and is not included into the layout duration.
+     */
+    LAYOUT,
+    /**
+     * Writing of a single indirect object to the output. Compression of the object stream data is reported
+     * as {@link #COMPRESSION} and is not included into the flush duration.
+     * <p>
+     * Objects which are put into an object stream in full compression mode are reported with 0 bytes,
+     * since they are buffered rather than written; their bytes are reported when the object stream itself is flushed.
+     */
+    FLUSH,
+    /**
+     * Compression of a stream while it is written to the output.
+     */
+    COMPRESSION
+}
@@ -50,6 +50,8 @@ import org.bouncycastle.crypto.paddings.PaddedBufferedBlockCipher;
 import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.crypto.params.ParametersWithIV;
 
+import java.util.Arrays;
+
 /**
  * Creates an AES Cipher with CBC and padding PKCS5/7.
  * @author Paulo Soares
@@ -57,6 +59,8 @@ import org.bouncycastle.crypto.params.ParametersWithIV;
 public class AESCipher {
 
     private PaddedBufferedBlockCipher bp;
+    private boolean forEncryption;
+    private byte[] key;
     
     /**
      * Creates a new instance of AESCipher
@@ -70,10 +74,41 @@ public class AESCipher {
         BlockCipher aes = new AESFastEngine();
         BlockCipher cbc = new CBCBlockCipher(aes);
         bp = new PaddedBufferedBlockCipher(cbc);
+        this.forEncryption = forEncryption;
+        this.key = key.clone();
         KeyParameter kp = new KeyParameter(key);
         ParametersWithIV piv = new ParametersWithIV(kp, iv);
         bp.init(forEncryption, piv);
     }
+
+    /**
+     * Prepares the cipher for processing a new portion of data with the given key and initialization vector,
+     * discarding any data buffered so far. The key schedule is only recalculated if the key differs from
+     * the one the cipher currently uses, so resetting a cipher with the same key costs about as much as
+     * setting a new initialization vector.
+     *
+     * @param key the byte array containing the key to be used in the cipher
+     * @param off offset of the key in the byte array
+     * @param len the length of the key in the byte array
+     * @param iv initialization vector to be used in cipher
+     */
+    public void reset(byte[] key, int off, int len, byte[] iv) {
+        KeyParameter kp = null;
+        if (!isSameKey(key, off, len)) {
+            this.key = Arrays.copyOfRange(key, off, off + len);
+            kp = new KeyParameter(this.key);
+        }
+        bp.init(forEncryption, new ParametersWithIV(kp, iv));
+    }
+
+    /**
+     * Checks whether the cipher is initialised for encryption.
+     *
+     * @return true if the cipher encrypts data, false if it decrypts it
+     */
+    public boolean isForEncryption() {
+        return forEncryption;
+    }
     
     public byte[] update(byte[] inp, int inpOff, int inpLen) {
         int neededLen = bp.getUpdateOutputSize(inpLen);
@@ -87,6 +122,32 @@ public class AESCipher {
         return outp;
     }
     
+    /**
+     * Processes the given bytes writing the result to the provided buffer, which must be able to hold
+     * at least {@link #getUpdateOutputSize(int)} bytes.
+     *
+     * @param inp the input data
+     * @param inpOff offset of the data in the input array
+     * @param inpLen the length of the data
+     * @param outp the buffer for the processed data
+     * @param outOff offset in the output buffer to start writing from
+     * @return the number of bytes written to the output buffer
+     */
+    public int update(byte[] inp, int inpOff, int inpLen, byte[] outp, int outOff) {
+        return bp.processBytes(inp, inpOff, inpLen, outp, outOff);
+    }
+
+    /**
+     * Gets the size of the output buffer required to process the given number of bytes with
+     * {@link #update(byte[], int, int, byte[], int)}.
+     *
+     * @param inpLen the length of the input
+     * @return the required output buffer size
+     */
+    public int getUpdateOutputSize(int inpLen) {
+        return bp.getUpdateOutputSize(inpLen);
+    }
+
     public byte[] doFinal() {
         int neededLen = bp.getOutputSize(0);
         byte[] outp = new byte[neededLen];
@@ -105,4 +166,15 @@ public class AESCipher {
             return outp;
     }
 
+    private boolean isSameKey(byte[] key, int off, int len) {
+        if (this.key.length != len) {
+            return false;
+        }
+        for (int k = 0; k < len; ++k) {
+            if (this.key[k] != key[off + k]) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
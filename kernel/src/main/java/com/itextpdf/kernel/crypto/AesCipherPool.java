@@ -0,0 +1,95 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.crypto;
+
+/**
+ * Keeps the {@link AESCipher} instances which are currently not in use, so that encrypting or decrypting
+ * the objects of a document does not require creating a new cipher for every string and stream.
+ * A cipher is handed out to one user at a time and should be returned with {@link #release(AESCipher)}
+ * once the data is processed; if all ciphers are in use, a new one is created.
+ */
+public class AesCipherPool {
+
+    private AESCipher idleEncryptionCipher;
+    private AESCipher idleDecryptionCipher;
+
+    /**
+     * Gets a cipher initialised with the given key and initialization vector.
+     *
+     * @param forEncryption if true the cipher is initialised for encryption, if false for decryption
+     * @param key the byte array containing the key to be used in the cipher
+     * @param off offset of the key in the byte array
+     * @param len the length of the key in the byte array
+     * @param iv initialization vector to be used in cipher
+     * @return the {@link AESCipher} ready to process the data
+     */
+    public synchronized AESCipher acquire(boolean forEncryption, byte[] key, int off, int len, byte[] iv) {
+        AESCipher cipher = forEncryption ? idleEncryptionCipher : idleDecryptionCipher;
+        if (cipher == null) {
+            byte[] nkey = new byte[len];
+            System.arraycopy(key, off, nkey, 0, len);
+            return new AESCipher(forEncryption, nkey, iv);
+        }
+        if (forEncryption) {
+            idleEncryptionCipher = null;
+        } else {
+            idleDecryptionCipher = null;
+        }
+        cipher.reset(key, off, len, iv);
+        return cipher;
+    }
+
+    /**
+     * Returns the cipher to the pool, so that it can be reused by the next {@link #acquire} call.
+     * The cipher must not be used by the caller afterwards.
+     *
+     * @param cipher the {@link AESCipher} which is not needed anymore
+     */
+    public synchronized void release(AESCipher cipher) {
+        if (cipher.isForEncryption()) {
+            idleEncryptionCipher = cipher;
+        } else {
+            idleDecryptionCipher = cipher;
+        }
+    }
+}
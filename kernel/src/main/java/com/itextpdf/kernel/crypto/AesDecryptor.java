@@ -45,6 +45,7 @@ package com.itextpdf.kernel.crypto;
 
 public class AesDecryptor implements IDecryptor {
     private AESCipher cipher;
+    private AesCipherPool cipherPool;
     private byte[] key;
     private boolean initiated;
     private byte[] iv = new byte[16];
@@ -61,6 +62,19 @@ public class AesDecryptor implements IDecryptor {
         System.arraycopy(key, off, this.key, 0, len);
     }
 
+    /**
+     * Creates a new instance of {@link AesDecryptor} which takes its cipher from the given pool and
+     * returns it there once the decryption is finished.
+     * @param key the byte array containing the key for decryption
+     * @param off offset of the key in the byte array
+     * @param len the length of the key in the byte array
+     * @param cipherPool the {@link AesCipherPool} to reuse the ciphers from
+     */
+    public AesDecryptor(byte[] key, int off, int len, AesCipherPool cipherPool) {
+        this(key, off, len);
+        this.cipherPool = cipherPool;
+    }
+
     public byte[] update(byte[] b, int off, int len) {
         if (initiated) {
             return cipher.update(b, off, len);
@@ -71,7 +85,9 @@ public class AesDecryptor implements IDecryptor {
             len -= left;
             ivptr += left;
             if (ivptr == iv.length) {
-                cipher = new AESCipher(false, key, iv);
+                cipher = cipherPool != null
+                        ? cipherPool.acquire(false, key, 0, key.length, iv)
+                        : new AESCipher(false, key, iv);
                 initiated = true;
                 if (len > 0)
                     return cipher.update(b, off, len);
@@ -82,7 +98,15 @@ public class AesDecryptor implements IDecryptor {
 
     public byte[] finish() {
         if (cipher != null) {
-            return cipher.doFinal();
+            byte[] b = cipher.doFinal();
+            if (cipherPool != null) {
+                cipherPool.release(cipher);
+                cipher = null;
+                // The cipher belongs to the pool now, further data starts a new decryption with its own IV
+                initiated = false;
+                ivptr = 0;
+            }
+            return b;
         } else {
             return null;
         }
@@ -48,6 +48,8 @@ import java.io.IOException;
 
 public class OutputStreamAesEncryption extends OutputStreamEncryption {
     protected AESCipher cipher;
+    private AesCipherPool cipherPool;
+    private byte[] buffer = new byte[0];
     private boolean finished;
 
     /**
@@ -58,11 +60,29 @@ public class OutputStreamAesEncryption extends OutputStreamEncryption {
      * @param len the length of the key in the byte array
      */
     public OutputStreamAesEncryption(java.io.OutputStream out, byte[] key, int off, int len) {
+        this(out, key, off, len, null);
+    }
+
+    /**
+     * Creates a new instance of {@link OutputStreamAesEncryption} which takes its cipher from the given pool
+     * and returns it there once the stream is finished.
+     * @param out the {@link java.io.OutputStream} instance to be used as the destination for the encrypted content
+     * @param key the byte array containing the key for encryption
+     * @param off offset of the key in the byte array
+     * @param len the length of the key in the byte array
+     * @param cipherPool the {@link AesCipherPool} to reuse the ciphers from, may be null
+     */
+    public OutputStreamAesEncryption(java.io.OutputStream out, byte[] key, int off, int len, AesCipherPool cipherPool) {
         super(out);
+        this.cipherPool = cipherPool;
         byte[] iv = IVGenerator.getIV();
-        byte[] nkey = new byte[len];
-        System.arraycopy(key, off, nkey, 0, len);
-        cipher = new AESCipher(true, nkey, iv);
+        if (cipherPool != null) {
+            cipher = cipherPool.acquire(true, key, off, len, iv);
+        } else {
+            byte[] nkey = new byte[len];
+            System.arraycopy(key, off, nkey, 0, len);
+            cipher = new AESCipher(true, nkey, iv);
+        }
         try {
             write(iv);
         } catch (IOException e) {
@@ -108,10 +128,14 @@ public class OutputStreamAesEncryption extends OutputStreamEncryption {
      *                     stream is closed.
      */
     public void write(byte[] b, int off, int len) throws IOException {
-        byte[] b2 = cipher.update(b, off, len);
-        if (b2 == null || b2.length == 0)
+        int neededLen = cipher.getUpdateOutputSize(len);
+        if (buffer.length < neededLen) {
+            buffer = new byte[neededLen];
+        }
+        int n = cipher.update(b, off, len, buffer, 0);
+        if (n == 0)
             return;
-        out.write(b2, 0, b2.length);
+        out.write(buffer, 0, n);
     }
 
     public void finish() {
@@ -119,6 +143,9 @@ public class OutputStreamAesEncryption extends OutputStreamEncryption {
             finished = true;
 
             byte[] b = cipher.doFinal();
+            if (cipherPool != null) {
+                cipherPool.release(cipher);
+            }
             try {
                 out.write(b, 0, b.length);
             } catch (IOException e) {
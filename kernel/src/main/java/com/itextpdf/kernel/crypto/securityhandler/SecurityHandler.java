@@ -44,6 +44,7 @@
 package com.itextpdf.kernel.crypto.securityhandler;
 
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.crypto.AesCipherPool;
 import com.itextpdf.kernel.crypto.IDecryptor;
 import com.itextpdf.kernel.crypto.OutputStreamEncryption;
 
@@ -78,6 +79,11 @@ public abstract class SecurityHandler implements Serializable {
      */
     protected byte[] extra = new byte[5];
 
+    /**
+     * The pool of AES ciphers shared by the encryption streams and decryptors of AES based handlers
+     */
+    private transient AesCipherPool aesCipherPool;
+
     protected SecurityHandler() {
         safeInitMessageDigest();
     }
@@ -110,6 +116,19 @@ public abstract class SecurityHandler implements Serializable {
 
     public abstract IDecryptor getDecryptor();
 
+    /**
+     * Gets the pool of AES ciphers which are reused for the objects of the document.
+     * The pool is created on the first request.
+     *
+     * @return the {@link AesCipherPool} of this handler
+     */
+    protected AesCipherPool getAesCipherPool() {
+        if (aesCipherPool == null) {
+            aesCipherPool = new AesCipherPool();
+        }
+        return aesCipherPool;
+    }
+
     private void safeInitMessageDigest() {
         try {
             md5 = MessageDigest.getInstance("MD5");
@@ -51,6 +51,8 @@ import com.itextpdf.io.font.Type1Font;
 import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.io.font.otf.Glyph;
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.counter.performance.PerformanceEventHandler;
+import com.itextpdf.kernel.counter.performance.PerformancePhase;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfStream;
@@ -214,7 +216,12 @@ public class PdfTrueTypeFont extends PdfSimpleFont<TrueTypeFont> {
                     byte[] fontStreamBytes;
                     //getDirectoryOffset() > 0 means ttc, which shall be subset anyway.
                     if (subset || ((TrueTypeFont) getFontProgram()).getDirectoryOffset() > 0) {
+                        long subsetStart = PerformanceEventHandler.getInstance().start();
                         fontStreamBytes = ((TrueTypeFont) getFontProgram()).getSubset(glyphs, subset);
+                        if (subsetStart != PerformanceEventHandler.DISABLED) {
+                            PerformanceEventHandler.getInstance().finish(PerformancePhase.FONT_SUBSET,
+                                    getFontProgram().getFontNames().getFontName(), subsetStart, fontStreamBytes.length);
+                        }
                     } else {
                         fontStreamBytes = ((TrueTypeFont) getFontProgram()).getFontStreamBytes();
                     }
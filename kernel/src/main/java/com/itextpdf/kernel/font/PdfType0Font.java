@@ -63,6 +63,8 @@ import com.itextpdf.io.util.MessageFormatUtil;
 import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.io.util.TextUtil;
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.counter.performance.PerformanceEventHandler;
+import com.itextpdf.kernel.counter.performance.PerformancePhase;
 import com.itextpdf.kernel.pdf.PdfArray;
 import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfLiteral;
@@ -709,7 +711,12 @@ public class PdfType0Font extends PdfFont {
             if (ttf.isCff()) {
                 byte[] cffBytes;
                 if (subset) {
+                    long subsetStart = PerformanceEventHandler.getInstance().start();
                     cffBytes = new CFFFontSubset(ttf.getFontStreamBytes(), longTag).Process();
+                    if (subsetStart != PerformanceEventHandler.DISABLED) {
+                        PerformanceEventHandler.getInstance().finish(PerformancePhase.FONT_SUBSET, fontName,
+                                subsetStart, cffBytes.length);
+                    }
                 } else {
                     cffBytes = ttf.getFontStreamBytes();
                 }
@@ -724,7 +731,12 @@ public class PdfType0Font extends PdfFont {
                 //getDirectoryOffset() > 0 means ttc, which shall be subsetted anyway.
                 if (subset || ttf.getDirectoryOffset() > 0) {
                     try {
+                        long subsetStart = PerformanceEventHandler.getInstance().start();
                         ttfBytes = ttf.getSubset(longTag, subset);
+                        if (subsetStart != PerformanceEventHandler.DISABLED) {
+                            PerformanceEventHandler.getInstance().finish(PerformancePhase.FONT_SUBSET, fontName,
+                                    subsetStart, ttfBytes.length);
+                        }
                     } catch (com.itextpdf.io.IOException e) {
                         Logger logger = LoggerFactory.getLogger(PdfType0Font.class);
                         logger.warn(LogMessageConstant.FONT_SUBSET_ISSUE);
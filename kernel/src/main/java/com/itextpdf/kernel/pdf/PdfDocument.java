@@ -2024,10 +2024,14 @@ public class PdfDocument implements IEventDispatcher, Closeable, Serializable {
                 // Due to constructor reader and writer not null.
                 assert reader != null;
                 RandomAccessFileOrArray file = reader.tokens.getSafeFile();
-                int n;
-                byte[] buffer = new byte[8192];
-                while ((n = file.read(buffer)) > 0) {
-                    writer.write(buffer, 0, n);
+                // If both documents are files, the original revision is copied by the file system
+                // and only the incremental update is actually written by the writer
+                if (reader.sourcePath == null || !writer.appendFileTail(reader.sourcePath, file.length())) {
+                    int n;
+                    byte[] buffer = new byte[8192];
+                    while ((n = file.read(buffer)) > 0) {
+                        writer.write(buffer, 0, n);
+                    }
                 }
                 file.close();
                 writer.write((byte) '\n');
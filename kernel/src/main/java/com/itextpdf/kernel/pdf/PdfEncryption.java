@@ -393,7 +393,8 @@ public class PdfEncryption extends PdfObjectWrapper<PdfDictionary> {
     }
 
     public byte[] encryptByteArray(byte[] b) {
-        ByteArrayOutputStream ba = new ByteArrayOutputStream();
+        // leave room for the initialization vector and padding of block ciphers
+        ByteArrayOutputStream ba = new ByteArrayOutputStream(b.length + 32);
         OutputStreamEncryption ose = getEncryptionStream(ba);
         try {
             ose.write(b);
@@ -405,19 +406,18 @@ public class PdfEncryption extends PdfObjectWrapper<PdfDictionary> {
     }
 
     public byte[] decryptByteArray(byte[] b) {
-        try {
-            ByteArrayOutputStream ba = new ByteArrayOutputStream();
-            IDecryptor dec = securityHandler.getDecryptor();
-            byte[] b2 = dec.update(b, 0, b.length);
-            if (b2 != null)
-                ba.write(b2);
-            b2 = dec.finish();
-            if (b2 != null)
-                ba.write(b2);
-            return ba.toByteArray();
-        } catch (IOException e) {
-            throw new PdfException(PdfException.PdfEncryption, e);
+        IDecryptor dec = securityHandler.getDecryptor();
+        byte[] b1 = dec.update(b, 0, b.length);
+        byte[] b2 = dec.finish();
+        if (b1 == null || b1.length == 0) {
+            return b2 != null ? b2 : new byte[0];
+        } else if (b2 == null || b2.length == 0) {
+            return b1;
         }
+        byte[] result = new byte[b1.length + b2.length];
+        System.arraycopy(b1, 0, result, 0, b1.length);
+        System.arraycopy(b2, 0, result, b1.length, b2.length);
+        return result;
     }
 
     public boolean isOpenedWithFullPermission() {
@@ -44,8 +44,11 @@
 package com.itextpdf.kernel.pdf;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
@@ -59,6 +62,13 @@ public class PdfNumTree implements Serializable {
     private Map<Integer, PdfObject> items = new HashMap<>();
     private PdfName treeType;
 
+    /**
+     * Leaves already written by {@link #flushLeaves(int)}, in ascending order of their keys,
+     * and the corresponding [first key, last key] limits.
+     */
+    private List<PdfIndirectReference> flushedLeaves = new ArrayList<>();
+    private List<int[]> flushedLeavesLimits = new ArrayList<>();
+
     /**
      * Creates the NumberTree of current Document
      *
@@ -96,7 +106,42 @@ public class PdfNumTree implements Serializable {
 
     public void addEntry(int key, PdfObject value) { items.put(new Integer(key), value); }
 
+    /**
+     * Writes out the leaves which contain the smallest keys of the tree, as long as they can be filled completely
+     * with keys less than {@code upperBound}. The written entries are removed from this instance, so that only
+     * the references to the leaves are kept until {@link #buildTree()} is called.
+     * <p>
+     * The caller shall guarantee that no entry with a key less than {@code upperBound} will be added afterwards.
+     *
+     * @param upperBound the exclusive upper bound of the keys which can be written out
+     */
+    public void flushLeaves(int upperBound) {
+        List<Integer> numbers = new ArrayList<>();
+        for (Integer number : items.keySet()) {
+            if (number < upperBound) {
+                numbers.add(number);
+            }
+        }
+        if (numbers.size() < NODE_SIZE) {
+            return;
+        }
+        Collections.sort(numbers);
+        for (int offset = 0; offset + NODE_SIZE <= numbers.size(); offset += NODE_SIZE) {
+            PdfDictionary leaf = createLeaf(numbers, offset, offset + NODE_SIZE);
+            leaf.makeIndirect(catalog.getDocument());
+            flushedLeaves.add(leaf.getIndirectReference());
+            flushedLeavesLimits.add(new int[] {numbers.get(offset), numbers.get(offset + NODE_SIZE - 1)});
+            for (int i = offset; i < offset + NODE_SIZE; ++i) {
+                items.remove(numbers.get(i));
+            }
+            leaf.flush();
+        }
+    }
+
     public PdfDictionary buildTree() {
+        if (!flushedLeaves.isEmpty()) {
+            return buildTreeWithFlushedLeaves();
+        }
         Integer[] numbers = new Integer[items.size()];
         numbers = items.keySet().toArray(numbers);
         Arrays.sort(numbers);
@@ -160,6 +205,48 @@ public class PdfNumTree implements Serializable {
         }
     }
 
+    private PdfDictionary buildTreeWithFlushedLeaves() {
+        List<Integer> numbers = new ArrayList<>(items.keySet());
+        Collections.sort(numbers);
+        List<PdfObject> kids = new ArrayList<PdfObject>(flushedLeaves);
+        List<int[]> limits = new ArrayList<>(flushedLeavesLimits);
+        for (int offset = 0; offset < numbers.size(); offset += NODE_SIZE) {
+            int end = Math.min(offset + NODE_SIZE, numbers.size());
+            kids.add(createLeaf(numbers, offset, end).makeIndirect(catalog.getDocument()));
+            limits.add(new int[] {numbers.get(offset), numbers.get(end - 1)});
+        }
+        while (kids.size() > NODE_SIZE) {
+            List<PdfObject> parents = new ArrayList<>();
+            List<int[]> parentsLimits = new ArrayList<>();
+            for (int offset = 0; offset < kids.size(); offset += NODE_SIZE) {
+                int end = Math.min(offset + NODE_SIZE, kids.size());
+                PdfDictionary dic = (PdfDictionary) new PdfDictionary().makeIndirect(catalog.getDocument());
+                int[] dicLimits = new int[] {limits.get(offset)[0], limits.get(end - 1)[1]};
+                dic.put(PdfName.Limits, new PdfArray(dicLimits));
+                dic.put(PdfName.Kids, new PdfArray(kids.subList(offset, end)));
+                parents.add(dic);
+                parentsLimits.add(dicLimits);
+            }
+            kids = parents;
+            limits = parentsLimits;
+        }
+        PdfDictionary dic = new PdfDictionary();
+        dic.put(PdfName.Kids, new PdfArray(kids));
+        return dic;
+    }
+
+    private PdfDictionary createLeaf(List<Integer> numbers, int offset, int end) {
+        PdfDictionary dic = new PdfDictionary();
+        dic.put(PdfName.Limits, new PdfArray(new int[] {numbers.get(offset), numbers.get(end - 1)}));
+        PdfArray arr = new PdfArray();
+        for (int i = offset; i < end; ++i) {
+            arr.add(new PdfNumber((int) numbers.get(i)));
+            arr.add(items.get(numbers.get(i)));
+        }
+        dic.put(PdfName.Nums, arr);
+        return dic;
+    }
+
     private void readTree(PdfDictionary dictionary) {
         if (dictionary != null) {
             iterateItems(dictionary, null);
@@ -49,6 +49,8 @@ import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.source.DeflaterOutputStream;
 import com.itextpdf.io.source.OutputStream;
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.counter.performance.PerformanceEventHandler;
+import com.itextpdf.kernel.counter.performance.PerformancePhase;
 import com.itextpdf.kernel.crypto.OutputStreamEncryption;
 import com.itextpdf.kernel.pdf.filters.FlateDecodeFilter;
 import org.slf4j.Logger;
@@ -308,6 +310,8 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 this.write((PdfDictionary) pdfStream);
                 writeBytes(PdfOutputStream.stream);
                 long beginStreamContent = getCurrentPos();
+                long compressionStart = def != null ? PerformanceEventHandler.getInstance().start()
+                        : PerformanceEventHandler.DISABLED;
                 byte[] buf = new byte[4192];
                 while (true) {
                     int n = pdfStream.getInputStream().read(buf);
@@ -318,6 +322,10 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                 if (def != null) {
                     def.finish();
                 }
+                if (compressionStart != PerformanceEventHandler.DISABLED) {
+                    PerformanceEventHandler.getInstance().finish(PerformancePhase.COMPRESSION, null, compressionStart,
+                            getCurrentPos() - beginStreamContent);
+                }
                 if (ose != null) {
                     ose.finish();
                 }
@@ -328,10 +336,24 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
             } else {
                 //When document is opened in stamping mode the output stream can be uninitialized.
                 //We have to initialize it and write all data from streams input to streams output.
-                if (pdfStream.getOutputStream() == null && pdfStream.getIndirectReference().getReader() != null) {
+                PdfReader reader = pdfStream.getIndirectReference().getReader();
+                if (pdfStream.getOutputStream() == null && reader != null) {
+                    if (!userDefinedCompression && !(toCompress && allowCompression)
+                            && isEncryptedWithSameCrypto(pdfStream, reader)) {
+                        // Neither content nor encryption of the stream changes, so there is no need
+                        // to decrypt stream bytes only to encrypt them again with the same key.
+                        byte[] encryptedBytes = reader.readStreamBytesRaw(pdfStream, false);
+                        pdfStream.put(PdfName.Length, new PdfNumber(encryptedBytes.length));
+                        pdfStream.updateLength(encryptedBytes.length);
+                        this.write((PdfDictionary) pdfStream);
+                        writeBytes(PdfOutputStream.stream);
+                        writeBytes(encryptedBytes);
+                        writeBytes(PdfOutputStream.endstream);
+                        return;
+                    }
                     // If new specific compression is set for stream,
                     // then compressed stream should be decoded and written with new compression settings
-                    byte[] bytes = pdfStream.getIndirectReference().getReader().readStreamBytes(pdfStream, false);
+                    byte[] bytes = reader.readStreamBytes(pdfStream, false);
                     if (userDefinedCompression) {
                         bytes = decodeFlateBytes(pdfStream, bytes);
                     }
@@ -344,6 +366,7 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                     if (toCompress && !containsFlateFilter(pdfStream) && (allowCompression || userDefinedCompression)) {
                         // compress
                         updateCompressionFilter(pdfStream);
+                        long compressionStart = PerformanceEventHandler.getInstance().start();
                         byteArrayStream = new ByteArrayOutputStream();
                         DeflaterOutputStream zip = new DeflaterOutputStream(byteArrayStream, pdfStream.getCompressionLevel());
                         if (pdfStream instanceof PdfObjectStream) {
@@ -355,6 +378,10 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
                             ((ByteArrayOutputStream) pdfStream.getOutputStream().getOutputStream()).writeTo(zip);
                         }
                         zip.finish();
+                        if (compressionStart != PerformanceEventHandler.DISABLED) {
+                            PerformanceEventHandler.getInstance().finish(PerformancePhase.COMPRESSION, null,
+                                    compressionStart, byteArrayStream.size());
+                        }
                     } else {
                         if (pdfStream instanceof PdfObjectStream) {
                             PdfObjectStream objectStream = (PdfObjectStream) pdfStream;
@@ -411,6 +438,10 @@ public class PdfOutputStream extends OutputStream<PdfOutputStream> {
         }
     }
 
+    private boolean isEncryptedWithSameCrypto(PdfStream pdfStream, PdfReader reader) {
+        return crypto != null && crypto == reader.decrypt && checkEncryption(pdfStream);
+    }
+
     protected boolean containsFlateFilter(PdfStream pdfStream) {
         PdfObject filter = pdfStream.get(PdfName.Filter);
         if (filter != null) {
@@ -1215,6 +1215,10 @@ public class PdfPage extends PdfObjectWrapper<PdfDictionary> {
         try {
             if (!getDocument().isClosing) {
                 getDocument().getTagStructureContext().flushPageTags(this);
+                if (getDocument().getTagStructureContext().isStreamingMode()) {
+                    getDocument().getStructTreeRoot().createParentTreeEntryForPage(this);
+                    getDocument().getStructTreeRoot().flushParentTreeLeaves();
+                }
             }
             getDocument().getStructTreeRoot().savePageStructParentIndexIfNeeded(this);
         } catch (Exception ex) {
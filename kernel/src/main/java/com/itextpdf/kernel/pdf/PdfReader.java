@@ -53,6 +53,8 @@ import com.itextpdf.io.source.RandomAccessSourceFactory;
 import com.itextpdf.io.source.WindowRandomAccessSource;
 import com.itextpdf.io.util.MessageFormatUtil;
 import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.counter.performance.PerformanceEventHandler;
+import com.itextpdf.kernel.counter.performance.PerformancePhase;
 import com.itextpdf.kernel.crypto.securityhandler.UnsupportedSecurityHandlerException;
 import com.itextpdf.kernel.pdf.filters.FilterHandlers;
 import com.itextpdf.kernel.pdf.filters.IFilterHandler;
@@ -91,7 +93,7 @@ public class PdfReader implements Closeable, Serializable {
     private PdfIndirectReference currentIndirectReference;
 
     // For internal usage only
-    private String sourcePath;
+    String sourcePath;
 
     protected PdfTokenizer tokens;
     protected PdfEncryption decrypt;
@@ -343,6 +345,19 @@ public class PdfReader implements Closeable, Serializable {
      * @throws IOException on error.
      */
     public byte[] readStreamBytesRaw(PdfStream stream) throws IOException {
+        return readStreamBytesRaw(stream, true);
+    }
+
+    /**
+     * Reads stream bytes as they are stored in the file, optionally decrypting them.
+     * Not decrypted bytes can be written as is to a document which uses the same encryption.
+     *
+     * @param stream a {@link PdfStream} stream instance to be read
+     * @param applyDecryption true if to decrypt stream bytes, false if to leave them as they are stored in the file
+     * @return byte[] array.
+     * @throws IOException on error.
+     */
+    byte[] readStreamBytesRaw(PdfStream stream, boolean applyDecryption) throws IOException {
         PdfName type = stream.getAsName(PdfName.Type);
         if (!PdfName.XRefStm.equals(type) && !PdfName.ObjStm.equals(type))
             checkPdfStreamLength(stream);
@@ -358,7 +373,7 @@ public class PdfReader implements Closeable, Serializable {
             file.seek(stream.getOffset());
             bytes = new byte[length];
             file.readFully(bytes);
-            if (decrypt != null && !decrypt.isEmbeddedFilesOnly()) {
+            if (applyDecryption && decrypt != null && !decrypt.isEmbeddedFilesOnly()) {
                 PdfObject filter = stream.get(PdfName.Filter, true);
                 boolean skip = false;
                 if (filter != null) {
@@ -483,7 +498,12 @@ public class PdfReader implements Closeable, Serializable {
             } else {
                 decodeParams = null;
             }
+            long decodeStart = PerformanceEventHandler.getInstance().start();
             b = filterHandler.decode(b, filterName, decodeParams, streamDictionary);
+            if (decodeStart != PerformanceEventHandler.DISABLED) {
+                PerformanceEventHandler.getInstance().finish(PerformancePhase.STREAM_DECODE, filterName.getValue(),
+                        decodeStart, b.length);
+            }
             if (memoryLimitsAwarenessRequired) {
                 memoryLimitsAwareHandler.considerBytesOccupiedByDecompressedPdfStream(b.length);
             }
@@ -678,6 +698,7 @@ public class PdfReader implements Closeable, Serializable {
         } catch (IllegalArgumentException exc) {
             throw new PdfException(PdfException.PdfVersionNotValid, version);
         }
+        long xrefReadStart = PerformanceEventHandler.getInstance().start();
         try {
             readXref();
         } catch (RuntimeException ex) {
@@ -686,6 +707,9 @@ public class PdfReader implements Closeable, Serializable {
 
             rebuildXref();
         }
+        if (xrefReadStart != PerformanceEventHandler.DISABLED) {
+            PerformanceEventHandler.getInstance().finish(PerformancePhase.XREF_READ, null, xrefReadStart, -1);
+        }
         pdfDocument.getXref().markReadingCompleted();
         readDecryptObj();
     }
@@ -1292,6 +1316,7 @@ public class PdfReader implements Closeable, Serializable {
             } else if (reference.getOffset() > 0) {
                 PdfObject object;
                 try {
+                    long objectParseStart = PerformanceEventHandler.getInstance().start();
                     tokens.seek(reference.getOffset());
                     tokens.nextValidToken();
                     if (tokens.getTokenType() != PdfTokenizer.TokenType.Obj
@@ -1300,6 +1325,10 @@ public class PdfReader implements Closeable, Serializable {
                         tokens.throwError(PdfException.InvalidOffsetForObject1, reference.toString());
                     }
                     object = readObject(false);
+                    if (objectParseStart != PerformanceEventHandler.DISABLED) {
+                        PerformanceEventHandler.getInstance().finish(PerformancePhase.OBJECT_PARSE, null,
+                                objectParseStart, tokens.getPosition() - reference.getOffset());
+                    }
                 } catch (RuntimeException ex) {
                     if (fixXref && reference.getObjStreamNumber() == 0) {
                         fixXref();
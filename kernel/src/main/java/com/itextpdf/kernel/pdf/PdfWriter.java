@@ -47,15 +47,22 @@ import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.io.source.ByteUtils;
 import com.itextpdf.io.util.FileUtil;
+import com.itextpdf.kernel.PdfException;
+import com.itextpdf.kernel.counter.performance.PerformanceEventHandler;
+import com.itextpdf.kernel.counter.performance.PerformancePhase;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -74,6 +81,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     // For internal usage only
     private PdfOutputStream duplicateStream = null;
 
+    // Channel of the file the writer writes to, if the writer was created for a file
+    private transient FileChannel fileChannel;
+
     protected WriterProperties properties;
 
     /**
@@ -121,6 +131,9 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
     public PdfWriter(java.io.OutputStream os, WriterProperties properties) {
         super(FileUtil.wrapWithBufferedOutputStream(os));
         this.properties = properties;
+        if (os instanceof FileOutputStream) {
+            fileChannel = ((FileOutputStream) os).getChannel();
+        }
         if (properties.debugMode) {
             setDebugMode();
         }
@@ -148,7 +161,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
      *                               be created, or cannot be opened for any other reason
      */
     public PdfWriter(String filename, WriterProperties properties) throws FileNotFoundException {
-        this(FileUtil.getBufferedOutputStream(filename), properties);
+        this(FileUtil.getFileOutputStream(new File(filename)), properties);
     }
 
     /**
@@ -273,6 +286,40 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         }
     }
 
+    /**
+     * Appends the last {@code length} bytes of the given file to the output by transferring them
+     * directly between the file channels, without passing them through the writer buffers.
+     * It is only possible if the writer writes to a file and isn't in debug mode.
+     *
+     * @param path   path of the file to copy bytes from
+     * @param length the number of bytes at the end of the file to copy
+     * @return true if the bytes were appended, false if the writer can't append them this way
+     * @throws IOException if an I/O error occurs
+     */
+    boolean appendFileTail(String path, long length) throws IOException {
+        if (fileChannel == null || duplicateStream != null) {
+            return false;
+        }
+        try (FileInputStream source = new FileInputStream(path)) {
+            FileChannel sourceChannel = source.getChannel();
+            long offset = sourceChannel.size() - length;
+            if (offset < 0) {
+                return false;
+            }
+            flush();
+            long transferred = 0;
+            while (transferred < length) {
+                long n = sourceChannel.transferTo(offset + transferred, length - transferred, fileChannel);
+                if (n <= 0) {
+                    throw new PdfException(PdfException.IoException);
+                }
+                transferred += n;
+            }
+        }
+        currentPos += length;
+        return true;
+    }
+
     /**
      * Gets the current object stream.
      *
@@ -310,12 +357,20 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
      */
     protected void flushObject(PdfObject pdfObject, boolean canBeInObjStm) throws IOException {
         PdfIndirectReference indirectReference = pdfObject.getIndirectReference();
+        long flushStart = PerformanceEventHandler.getInstance().start();
+        long writtenBytes = 0;
         if (isFullCompression() && canBeInObjStm) {
+            // the object is only buffered, its bytes are reported when the object stream is flushed
             PdfObjectStream objectStream = getObjectStream();
             objectStream.addObject(pdfObject);
         } else {
-            indirectReference.setOffset(getCurrentPos());
+            long startPos = getCurrentPos();
+            indirectReference.setOffset(startPos);
             writeToBody(pdfObject);
+            writtenBytes = getCurrentPos() - startPos;
+        }
+        if (flushStart != PerformanceEventHandler.DISABLED) {
+            PerformanceEventHandler.getInstance().finish(PerformancePhase.FLUSH, null, flushStart, writtenBytes);
         }
         indirectReference.setState(PdfObject.FLUSHED).clearState(PdfObject.MUST_BE_FLUSHED);
         switch (pdfObject.getType()) {
@@ -366,7 +421,7 @@ public class PdfWriter extends PdfOutputStream implements Serializable {
         }
 
         SerializedObjectContent serializedContent = null;
-        if (properties.smartMode && tryToFindDuplicate && !checkTypeOfPdfDictionary(obj, PdfName.Page)) {
+        if (properties.smartMode && tryToFindDuplicate) {
             serializedContent = smartModeSerializer.serializeObject(obj);
             PdfIndirectReference objectRef = smartModeSerializer.getSavedSerializedObject(serializedContent);
             if (objectRef != null) {
@@ -46,13 +46,24 @@ import com.itextpdf.io.source.ByteBuffer;
 import com.itextpdf.kernel.PdfException;
 import java.io.Serializable;
 import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 class SmartModePdfObjectsSerializer implements Serializable {
 
     private static final long serialVersionUID = 2502203520776244051L;
 
+    /**
+     * Types of dictionaries which describe a single place in the document, like a page or a structure element.
+     * Such objects never repeat, so there is no need to serialize them in order to look for duplicates.
+     */
+    private static final Set<PdfName> NEVER_REPEATED_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            PdfName.Page, PdfName.StructElem, PdfName.StructTreeRoot, PdfName.MCR, PdfName.OBJR)));
+
     private transient MessageDigest md5;
     private HashMap<SerializedObjectContent, PdfIndirectReference> serializedContentToObj = new HashMap<>();
 
@@ -76,7 +87,8 @@ class SmartModePdfObjectsSerializer implements Serializable {
     }
 
     public SerializedObjectContent serializeObject(PdfObject obj) {
-        if (!obj.isStream() && !obj.isDictionary()) {
+        if (!obj.isStream() && !obj.isDictionary()
+                || NEVER_REPEATED_TYPES.contains(((PdfDictionary) obj).getAsName(PdfName.Type))) {
             return null;
         }
         PdfIndirectReference indRef = obj.getIndirectReference();
@@ -92,7 +104,8 @@ class SmartModePdfObjectsSerializer implements Serializable {
             } catch (SelfReferenceException e) {
                 return null;
             }
-            content = bb.toByteArray();
+            content = digest(bb);
+            serializedCache.put(indRef, content);
         }
         return new SerializedObjectContent(content);
     }
@@ -149,11 +162,19 @@ class SmartModePdfObjectsSerializer implements Serializable {
         }
 
         if (savedBb != null) {
-            serializedCache.put(reference, bb.toByteArray());
-            savedBb.append(bb.getInternalBuffer(), 0, bb.size());
+            // Only the digest of an indirect object is kept and embedded into the objects referring to it,
+            // so the cache size doesn't depend on the depth of the object graph.
+            byte[] digest = digest(bb);
+            serializedCache.put(reference, digest);
+            savedBb.append(digest);
         }
     }
 
+    private byte[] digest(ByteBuffer bb) {
+        md5.update(bb.getInternalBuffer(), 0, bb.size());
+        return md5.digest();
+    }
+
     private void serDic(PdfDictionary dic, ByteBuffer bb, int level,
                         Map<PdfIndirectReference, byte[]> serializedCache) throws SelfReferenceException {
         bb.append("$D");
@@ -150,6 +150,34 @@ class ParentTreeHandler implements Serializable {
         }
     }
 
+    /**
+     * Writes out the parent tree leaves which contain only the entries that can't be changed anymore, i.e. the entries
+     * with keys less than any struct parent index of the pages and XObjects whose entries have not been created yet.
+     * New struct parent indices are always greater than the existing ones, so they can't get into written leaves.
+     */
+    public void flushParentTreeLeaves() {
+        int minPendingIndex = Integer.MAX_VALUE;
+        for (Integer index : pageToStructParentsInd.values()) {
+            minPendingIndex = Math.min(minPendingIndex, (int) index);
+        }
+        for (Integer index : xObjectToStructParentsInd.values()) {
+            minPendingIndex = Math.min(minPendingIndex, (int) index);
+        }
+        for (Map.Entry<PdfIndirectReference, PageMcrsContainer> entry : pageToPageMcrs.entrySet()) {
+            for (Integer index : entry.getValue().getObjRefs().keySet()) {
+                minPendingIndex = Math.min(minPendingIndex, (int) index);
+            }
+            PdfObject page = entry.getKey().getRefersTo(false);
+            if (page instanceof PdfDictionary && !page.isFlushed()) {
+                Integer index = ((PdfDictionary) page).getAsInt(PdfName.StructParents);
+                if (index != null) {
+                    minPendingIndex = Math.min(minPendingIndex, (int) index);
+                }
+            }
+        }
+        parentTree.flushLeaves(minPendingIndex);
+    }
+
     public void savePageStructParentIndexIfNeeded(PdfPage page) {
         PdfIndirectReference indRef = page.getPdfObject().getIndirectReference();
         if (page.isFlushed() || pageToPageMcrs.get(indRef) == null) {
@@ -292,6 +292,15 @@ public class PdfStructTreeRoot extends PdfObjectWrapper<PdfDictionary> implement
         getParentTreeHandler().createParentTreeEntryForPage(page);
     }
 
+    /**
+     * Writes out the parent tree leaves which only contain entries of the pages for which parent tree entries
+     * were already created, see {@link #createParentTreeEntryForPage(PdfPage)}. This allows to keep in memory
+     * only the parent tree entries of the pages which are still being written.
+     */
+    public void flushParentTreeLeaves() {
+        getParentTreeHandler().flushParentTreeLeaves();
+    }
+
     public void savePageStructParentIndexIfNeeded(PdfPage page) {
         getParentTreeHandler().savePageStructParentIndexIfNeeded(page);
     }
@@ -63,6 +63,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Stack;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -307,19 +308,25 @@ class StructureTreeCopier {
         Map<PdfDictionary, PdfDictionary> page2pageDictionaries = new HashMap<>();
         for (Map.Entry<PdfPage, PdfPage> page : page2page.entrySet()) {
             page2pageDictionaries.put(page.getKey().getPdfObject(), page.getValue().getPdfObject());
-            Collection<PdfMcr> mcrs = fromDocument.getStructTreeRoot().getPageMarkedContentReferences(page.getKey());
-            if (mcrs != null) {
-                for (PdfMcr mcr : mcrs) {
-                    if (mcr instanceof PdfMcrDictionary || mcr instanceof PdfObjRef) {
-                        objectsToCopy.add(mcr.getPdfObject());
-                    }
-                    PdfDictionary top = addAllParentsToSet(mcr, objectsToCopy);
-                    if (top != null) {
-                        if (top.isFlushed()) {
-                            throw new PdfException(PdfException.CannotCopyFlushedTag);
+        }
+        if (!copyFromDestDocument && page2pageDictionaries.size() == fromDocument.getNumberOfPages()) {
+            collectWholeDocumentObjectsToCopy(fromDocument, page2pageDictionaries, objectsToCopy, topsToFirstDestPage);
+        } else {
+            for (Map.Entry<PdfPage, PdfPage> page : page2page.entrySet()) {
+                Collection<PdfMcr> mcrs = fromDocument.getStructTreeRoot().getPageMarkedContentReferences(page.getKey());
+                if (mcrs != null) {
+                    for (PdfMcr mcr : mcrs) {
+                        if (mcr instanceof PdfMcrDictionary || mcr instanceof PdfObjRef) {
+                            objectsToCopy.add(mcr.getPdfObject());
                         }
-                        if (!topsToFirstDestPage.containsKey(top)) {
-                            topsToFirstDestPage.put(top, page.getValue().getPdfObject());
+                        PdfDictionary top = addAllParentsToSet(mcr, objectsToCopy);
+                        if (top != null) {
+                            if (top.isFlushed()) {
+                                throw new PdfException(PdfException.CannotCopyFlushedTag);
+                            }
+                            if (!topsToFirstDestPage.containsKey(top)) {
+                                topsToFirstDestPage.put(top, page.getValue().getPdfObject());
+                            }
                         }
                     }
                 }
@@ -346,7 +353,123 @@ class StructureTreeCopier {
         return new CopyStructureResult(copiedTops, structElemCopyingParams.getCopiedNamespaces());
     }
 
+    /**
+     * Collects the structure elements and content items to copy when all the pages of the document are copied.
+     * Instead of walking up from every marked content reference of every page, the structure tree is walked once
+     * from the root: the element is copied if it has content on any page, and its top is associated with the copied
+     * analog of the first page on which the top has content.
+     */
+    private static void collectWholeDocumentObjectsToCopy(PdfDocument fromDocument, Map<PdfDictionary, PdfDictionary> page2pageDictionaries,
+            Set<PdfObject> objectsToCopy, Map<PdfDictionary, PdfDictionary> topsToFirstDestPage) {
+        List<PdfDictionary> pagesInOrder = new ArrayList<>();
+        Map<PdfDictionary, Integer> pageIndexes = new HashMap<>();
+        for (int i = 1; i <= fromDocument.getNumberOfPages(); ++i) {
+            PdfDictionary pageDict = fromDocument.getPage(i).getPdfObject();
+            pageIndexes.put(pageDict, pagesInOrder.size());
+            pagesInOrder.add(pageDict);
+        }
+
+        Map<PdfDictionary, Integer> visitedStructElems = new HashMap<>();
+        PdfArray tops = fromDocument.getStructTreeRoot().getKidsObject();
+        for (int i = 0; i < tops.size(); ++i) {
+            PdfDictionary top = tops.getAsDictionary(i);
+            if (top == null) {
+                continue;
+            }
+            int firstPageIndex = collectObjectsToCopy(top, pageIndexes, objectsToCopy, visitedStructElems);
+            if (firstPageIndex >= 0) {
+                topsToFirstDestPage.put(top, page2pageDictionaries.get(pagesInOrder.get(firstPageIndex)));
+            }
+        }
+    }
+
+    /**
+     * Walks the structure tree under the given element without recursion, so that neither a very deep tree nor
+     * a cyclic /K reference of a malformed document can overflow the stack. Every element is visited once:
+     * the visited elements are mapped to the index of the first page on which they have content, an element which
+     * is still being walked is mapped to -1, so that a reference back to it doesn't add any content.
+     *
+     * @return the index of the first page on which the structure element has content, or -1 if it has no content.
+     */
+    private static int collectObjectsToCopy(PdfDictionary structElem, Map<PdfDictionary, Integer> pageIndexes,
+            Set<PdfObject> objectsToCopy, Map<PdfDictionary, Integer> visitedStructElems) {
+        Integer visitedFirstPageIndex = visitedStructElems.get(structElem);
+        if (visitedFirstPageIndex != null) {
+            return (int) visitedFirstPageIndex;
+        }
+        Stack<StructElemWalkState> stack = new Stack<>();
+        stack.push(startStructElemWalk(structElem, visitedStructElems));
+        int firstPageIndex = -1;
+        while (!stack.isEmpty()) {
+            StructElemWalkState state = stack.peek();
+            if (state.nextKid < state.kids.size()) {
+                PdfObject kid = state.kids.get(state.nextKid++);
+                if (kid.isDictionary() && PdfStructElem.isStructElem((PdfDictionary) kid)) {
+                    visitedFirstPageIndex = visitedStructElems.get((PdfDictionary) kid);
+                    if (visitedFirstPageIndex != null) {
+                        state.addContent((int) visitedFirstPageIndex);
+                    } else {
+                        stack.push(startStructElemWalk((PdfDictionary) kid, visitedStructElems));
+                    }
+                } else {
+                    state.addContent(collectContentItemToCopy(kid, state.page, pageIndexes, objectsToCopy));
+                }
+            } else {
+                stack.pop();
+                visitedStructElems.put(state.structElem, state.firstPageIndex);
+                if (state.firstPageIndex >= 0) {
+                    objectsToCopy.add(state.structElem);
+                }
+                if (stack.isEmpty()) {
+                    firstPageIndex = state.firstPageIndex;
+                } else {
+                    stack.peek().addContent(state.firstPageIndex);
+                }
+            }
+        }
+        return firstPageIndex;
+    }
+
+    private static StructElemWalkState startStructElemWalk(PdfDictionary structElem, Map<PdfDictionary, Integer> visitedStructElems) {
+        if (structElem.isFlushed()) {
+            throw new PdfException(PdfException.CannotCopyFlushedTag);
+        }
+        visitedStructElems.put(structElem, -1);
+        return new StructElemWalkState(structElem);
+    }
+
+    private static int collectContentItemToCopy(PdfObject kid, PdfDictionary parentPage, Map<PdfDictionary, Integer> pageIndexes, Set<PdfObject> objectsToCopy) {
+        if (kid.isNumber()) {
+            return ((PdfNumber) kid).intValue() >= 0 ? getPageIndex(parentPage, pageIndexes) : -1;
+        } else if (kid.isDictionary()) {
+            PdfDictionary kidAsDict = (PdfDictionary) kid;
+            PdfName type = kidAsDict.getAsName(PdfName.Type);
+            if (PdfName.MCR.equals(type) || PdfName.OBJR.equals(type)) {
+                PdfDictionary page = kidAsDict.getAsDictionary(PdfName.Pg);
+                int pageIndex = getPageIndex(page != null ? page : parentPage, pageIndexes);
+                if (pageIndex >= 0) {
+                    objectsToCopy.add(kidAsDict);
+                }
+                return pageIndex;
+            }
+        }
+        return -1;
+    }
+
+    private static int getPageIndex(PdfDictionary page, Map<PdfDictionary, Integer> pageIndexes) {
+        Integer pageIndex = page != null ? pageIndexes.get(page) : null;
+        return pageIndex != null ? (int) pageIndex : -1;
+    }
+
+    private static int firstPageIndex(int first, int second) {
+        if (first < 0) {
+            return second;
+        }
+        return second < 0 ? first : Math.min(first, second);
+    }
+
     private static PdfDictionary copyObject(PdfDictionary source, PdfDictionary destPage, boolean parentChangePg, StructElemCopyingParams copyingParams) {
+        copyingParams.startCopying(source);
         PdfDictionary copied;
         if (copyingParams.isCopyFromDestDocument()) {
             //TODO: detect wether object is needed to be cloned at all
@@ -422,6 +545,7 @@ class StructureTreeCopier {
                 }
             }
         }
+        copyingParams.finishCopying(source);
         return copied;
     }
 
@@ -434,7 +558,8 @@ class StructureTreeCopier {
             }
         } else if (kid.isDictionary()) {
             PdfDictionary kidAsDict = (PdfDictionary) kid;
-            if (copyingParams.getObjectsToCopy().contains(kidAsDict)) {
+            // A kid which is an ancestor of its parent can only come from a cyclic /K reference of a malformed document
+            if (copyingParams.getObjectsToCopy().contains(kidAsDict) && !copyingParams.isBeingCopied(kidAsDict)) {
                 boolean hasParent = kidAsDict.containsKey(PdfName.P);
                 PdfDictionary copiedKid = copyObject(kidAsDict, destPage, parentChangePg, copyingParams);
                 if (hasParent) {
@@ -636,6 +761,8 @@ class StructureTreeCopier {
 
         private final Set<PdfObject> copiedNamespaces;
 
+        private final Set<PdfDictionary> objectsBeingCopied = new HashSet<>();
+
         public StructElemCopyingParams(Set<PdfObject> objectsToCopy, PdfDocument toDocument, Map<PdfDictionary, PdfDictionary> page2page, boolean copyFromDestDocument) {
             this.objectsToCopy = objectsToCopy;
             this.toDocument = toDocument;
@@ -667,6 +794,44 @@ class StructureTreeCopier {
         public Set<PdfObject> getCopiedNamespaces() {
             return copiedNamespaces;
         }
+
+        public void startCopying(PdfDictionary source) {
+            objectsBeingCopied.add(source);
+        }
+
+        public void finishCopying(PdfDictionary source) {
+            objectsBeingCopied.remove(source);
+        }
+
+        public boolean isBeingCopied(PdfDictionary source) {
+            return objectsBeingCopied.contains(source);
+        }
+    }
+
+    private static class StructElemWalkState {
+        private final PdfDictionary structElem;
+        private final PdfDictionary page;
+        private final List<PdfObject> kids = new ArrayList<>();
+        private int nextKid = 0;
+        private int firstPageIndex = -1;
+
+        StructElemWalkState(PdfDictionary structElem) {
+            this.structElem = structElem;
+            this.page = structElem.getAsDictionary(PdfName.Pg);
+            PdfObject k = structElem.get(PdfName.K);
+            if (k != null && k.isArray()) {
+                PdfArray kArr = (PdfArray) k;
+                for (int i = 0; i < kArr.size(); ++i) {
+                    kids.add(kArr.get(i));
+                }
+            } else if (k != null) {
+                kids.add(k);
+            }
+        }
+
+        void addContent(int pageIndex) {
+            firstPageIndex = firstPageIndex(firstPageIndex, pageIndex);
+        }
     }
 
     private static class CopyStructureResult {
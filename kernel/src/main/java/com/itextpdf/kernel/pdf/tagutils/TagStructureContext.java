@@ -105,6 +105,7 @@ public class TagStructureContext {
     protected TagTreePointer autoTaggingPointer;
     private PdfVersion tagStructureTargetVersion;
     private boolean forbidUnknownRoles;
+    private boolean streamingMode;
 
     private WaitingTagsManager waitingTagsManager;
 
@@ -163,6 +164,31 @@ public class TagStructureContext {
         return this;
     }
 
+    /**
+     * If streaming mode is set to true, then the parent tree entries of a page are created as soon as the page
+     * is flushed, and parent tree leaves which are not going to change anymore are written out right away,
+     * instead of keeping all of them in memory until the document is closed. Together with
+     * {@link #flushPageTags(PdfPage)}, which is called on page flushing, this allows to keep in memory only
+     * the tags of the pages which are not flushed yet.
+     * <p>
+     * In this mode tags can't be moved to or from the content of already flushed pages.
+     * Default value - false.
+     * @param streamingMode new value of the flag
+     * @return current {@link TagStructureContext} instance.
+     */
+    public TagStructureContext setStreamingMode(boolean streamingMode) {
+        this.streamingMode = streamingMode;
+        return this;
+    }
+
+    /**
+     * Checks whether streaming mode is enabled, see {@link #setStreamingMode(boolean)}.
+     * @return {@code true} if the tag structure is written out progressively on page flushing.
+     */
+    public boolean isStreamingMode() {
+        return streamingMode;
+    }
+
     public PdfVersion getTagStructureTargetVersion() {
         return tagStructureTargetVersion;
     }
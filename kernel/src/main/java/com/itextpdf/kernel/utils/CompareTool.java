@@ -78,6 +78,7 @@ import com.itextpdf.kernel.xmp.XMPMetaFactory;
 import com.itextpdf.kernel.xmp.XMPUtils;
 import com.itextpdf.kernel.xmp.options.ParseOptions;
 import com.itextpdf.kernel.xmp.options.SerializeOptions;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileFilter;
@@ -89,7 +90,9 @@ import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -98,6 +101,12 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 import org.slf4j.LoggerFactory;
@@ -138,6 +147,9 @@ public class CompareTool {
 
     private static final String NEW_LINES = "\\r|\\n";
 
+    // the same resolution is used by Ghostscript based visual comparison
+    private static final float IN_PROCESS_RENDERING_DPI = 150;
+
     private String cmpPdf;
     private String cmpPdfName;
     private String cmpImage;
@@ -151,12 +163,17 @@ public class CompareTool {
     private List<PdfIndirectReference> outPagesRef;
     private List<PdfIndirectReference> cmpPagesRef;
 
+    // pairs of (out, cmp) stream references which bytes are known to be equal, so that the streams shared between
+    // pages, like fonts and images, are read and decoded only once per comparison
+    private Set<List<PdfIndirectReference>> streamsWithEqualBytes = new HashSet<>();
+
     private int compareByContentErrorsLimit = 1000;
     private boolean generateCompareByContentXmlReport = false;
 
     private boolean encryptionCompareEnabled = false;
 
     private boolean useCachedPagesForComparison = true;
+    private boolean inProcessVisualComparisonEnabled = false;
     private IMetaInfo metaInfo;
 
     private String gsExec;
@@ -192,6 +209,7 @@ public class CompareTool {
     public CompareResult compareByCatalog(PdfDocument outDocument, PdfDocument cmpDocument) throws IOException {
         CompareResult compareResult = null;
         compareResult = new CompareResult(compareByContentErrorsLimit);
+        streamsWithEqualBytes.clear();
         ObjectPath catalogPath = new ObjectPath(cmpDocument.getCatalog().getPdfObject().getIndirectReference(),
                 outDocument.getCatalog().getPdfObject().getIndirectReference());
         Set<PdfName> ignoredCatalogEntries = new LinkedHashSet<>(Arrays.asList(PdfName.Metadata));
@@ -291,6 +309,22 @@ public class CompareTool {
         return this;
     }
 
+    /**
+     * Enables the in-process visual comparison. Pages are rendered and compared in memory, in parallel, instead of
+     * being converted to images with Ghostscript and compared with ImageMagick, so neither of the tools is needed.
+     * Ignored areas are handled the same way: they are painted black on the pages of both documents.
+     * <p>
+     * The pages are rendered with a simplified renderer which draws paths, images and text glyphs, but doesn't draw
+     * annotations, shadings and transparency. Its output differs from the Ghostscript one, but it's deterministic,
+     * so the documents are compared consistently.
+     *
+     * @return this CompareTool instance.
+     */
+    public CompareTool enableInProcessVisualComparison() {
+        this.inProcessVisualComparisonEnabled = true;
+        return this;
+    }
+
     /**
      * Gets {@link ReaderProperties} to be passed later to the {@link PdfReader} of the output document.
      * <p>
@@ -994,6 +1028,10 @@ public class CompareTool {
 
         System.out.println("Comparing visually..........");
 
+        if (inProcessVisualComparisonEnabled) {
+            return compareRenderedPages(outPath, differenceImagePrefix, ignoredAreas, equalPages);
+        }
+
         if (ignoredAreas != null && !ignoredAreas.isEmpty()) {
             createIgnoredAreasPdfs(outPath, ignoredAreas);
         }
@@ -1081,6 +1119,95 @@ public class CompareTool {
         return null;
     }
 
+    private String compareRenderedPages(final String outPath, final String differenceImagePrefix,
+            final Map<Integer, List<Rectangle>> ignoredAreas, List<Integer> equalPages) throws InterruptedException, IOException {
+        final ReaderProperties outReaderProperties = getOutReaderProperties();
+        final ReaderProperties cmpReaderProperties = getCmpReaderProperties();
+        PdfDocument outDocument = new PdfDocument(new PdfReader(outPdf, outReaderProperties), new DocumentProperties().setEventCountingMetaInfo(metaInfo));
+        PdfDocument cmpDocument = new PdfDocument(new PdfReader(cmpPdf, cmpReaderProperties), new DocumentProperties().setEventCountingMetaInfo(metaInfo));
+        int outPagesNumber = outDocument.getNumberOfPages();
+        int cmpPagesNumber = cmpDocument.getNumberOfPages();
+        outDocument.close();
+        cmpDocument.close();
+
+        final List<Integer> pagesToCompare = new ArrayList<>();
+        for (int i = 0; i < Math.min(outPagesNumber, cmpPagesNumber); i++) {
+            if (equalPages == null || !equalPages.contains(i)) {
+                pagesToCompare.add(i + 1);
+            }
+        }
+
+        // PdfDocument can't be shared between threads, so every thread renders its own share of pages
+        // from its own instances of the documents
+        final int threadsNumber = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), pagesToCompare.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(threadsNumber);
+        List<Integer> diffPages = new ArrayList<>();
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<>(threadsNumber);
+            for (int i = 0; i < threadsNumber; i++) {
+                final int firstPageIndex = i;
+                results.add(executor.submit(new Callable<List<Integer>>() {
+                    @Override
+                    public List<Integer> call() throws IOException {
+                        return renderAndComparePages(pagesToCompare, firstPageIndex, threadsNumber, outPath,
+                                differenceImagePrefix, ignoredAreas, outReaderProperties, cmpReaderProperties);
+                    }
+                }));
+            }
+            for (Future<List<Integer>> result : results) {
+                diffPages.addAll(result.get());
+            }
+        } catch (ExecutionException e) {
+            throw new CompareToolExecutionException("Pages of the documents can't be rendered: " + e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+        Collections.sort(diffPages);
+
+        if (!diffPages.isEmpty()) {
+            for (int pageNumber : diffPages) {
+                File diffFile = new File(outPath + differenceImagePrefix + pageNumber + ".png");
+                System.out.println("Page " + pageNumber + " is different!");
+                if (diffFile.exists()) {
+                    System.out.println("Please, examine " + FILE_PROTOCOL + UrlUtil.toNormalizedURI(diffFile).getPath() + " for more details.");
+                }
+            }
+            return DIFFERENT_PAGES.replace("<filename>", UrlUtil.toNormalizedURI(outPdf).getPath()).replace("<pagenumber>", listDiffPagesAsString(diffPages));
+        } else if (outPagesNumber != cmpPagesNumber) {
+            return UNEXPECTED_NUMBER_OF_PAGES.replace("<filename>", outPdf);
+        }
+        return null;
+    }
+
+    private List<Integer> renderAndComparePages(List<Integer> pagesToCompare, int firstPageIndex, int step, String outPath,
+            String differenceImagePrefix, Map<Integer, List<Rectangle>> ignoredAreas,
+            ReaderProperties outReaderProperties, ReaderProperties cmpReaderProperties) throws IOException {
+        List<Integer> diffPages = new ArrayList<>();
+        PdfDocument outDocument = new PdfDocument(new PdfReader(outPdf, outReaderProperties), new DocumentProperties().setEventCountingMetaInfo(metaInfo));
+        PdfDocument cmpDocument = new PdfDocument(new PdfReader(cmpPdf, cmpReaderProperties), new DocumentProperties().setEventCountingMetaInfo(metaInfo));
+        try {
+            PdfPageRasterizer rasterizer = new PdfPageRasterizer(IN_PROCESS_RENDERING_DPI);
+            for (int i = firstPageIndex; i < pagesToCompare.size(); i += step) {
+                int pageNumber = (int) pagesToCompare.get(i);
+                List<Rectangle> pageIgnoredAreas = ignoredAreas != null ? ignoredAreas.get(pageNumber) : null;
+                BufferedImage outImage = rasterizer.rasterize(outDocument.getPage(pageNumber), pageIgnoredAreas);
+                BufferedImage cmpImage = rasterizer.rasterize(cmpDocument.getPage(pageNumber), pageIgnoredAreas);
+                BufferedImage differenceImage = new BufferedImage(outImage.getWidth(), outImage.getHeight(), BufferedImage.TYPE_INT_RGB);
+                long differentPixels = PdfPageRasterizer.compareImages(outImage, cmpImage, differenceImage);
+                if (differentPixels != 0) {
+                    diffPages.add(pageNumber);
+                    if (differentPixels > 0) {
+                        ImageIO.write(differenceImage, "png", new File(outPath + differenceImagePrefix + pageNumber + ".png"));
+                    }
+                }
+            }
+        } finally {
+            outDocument.close();
+            cmpDocument.close();
+        }
+        return diffPages;
+    }
+
     private String listDiffPagesAsString(List<Integer> diffPages) {
         StringBuilder sb = new StringBuilder("[");
         for (int i = 0; i < diffPages.size(); i++) {
@@ -1185,6 +1312,7 @@ public class CompareTool {
             return compareVisuallyAndCombineReports("Documents have different numbers of pages.", outPath, differenceImagePrefix, ignoredAreas, null);
 
         CompareResult compareResult = new CompareResult(compareByContentErrorsLimit);
+        streamsWithEqualBytes.clear();
         List<Integer> equalPages = new ArrayList<>(cmpPages.size());
         for (int i = 0; i < cmpPages.size(); i++) {
             ObjectPath currentPath = new ObjectPath(cmpPagesRef.get(i), outPagesRef.get(i));
@@ -1204,6 +1332,7 @@ public class CompareTool {
 
         outDocument.close();
         cmpDocument.close();
+        streamsWithEqualBytes.clear();
 
         if (generateCompareByContentXmlReport) {
             String outPdfName = new File(outPdf).getName();
@@ -1532,11 +1661,35 @@ public class CompareTool {
         }
     }
 
+    // the only place where the structural comparison reads stream bytes, kept separate to be observable in tests
+    byte[] readStreamBytes(PdfStream stream, boolean decoded) {
+        return stream.getBytes(decoded);
+    }
+
     private boolean compareStreamsExtended(PdfStream outStream, PdfStream cmpStream, ObjectPath currentPath, CompareResult compareResult) {
+        List<PdfIndirectReference> streamsPair = null;
+        if (currentPath != null && outStream.getIndirectReference() != null && cmpStream.getIndirectReference() != null) {
+            streamsPair = Arrays.asList(outStream.getIndirectReference(), cmpStream.getIndirectReference());
+            if (streamsWithEqualBytes.contains(streamsPair)) {
+                return compareDictionariesExtended(outStream, cmpStream, currentPath, compareResult);
+            }
+        }
         boolean toDecode = PdfName.FlateDecode.equals(outStream.get(PdfName.Filter));
-        byte[] outStreamBytes = outStream.getBytes(toDecode);
-        byte[] cmpStreamBytes = cmpStream.getBytes(toDecode);
+        // equally encoded streams with the same raw bytes have the same decoded bytes, so decoding can be skipped
+        if (toDecode && PdfName.FlateDecode.equals(cmpStream.get(PdfName.Filter))
+                && outStream.get(PdfName.DecodeParms) == null && cmpStream.get(PdfName.DecodeParms) == null
+                && Arrays.equals(readStreamBytes(outStream, false), readStreamBytes(cmpStream, false))) {
+            if (streamsPair != null) {
+                streamsWithEqualBytes.add(streamsPair);
+            }
+            return compareDictionariesExtended(outStream, cmpStream, currentPath, compareResult);
+        }
+        byte[] outStreamBytes = readStreamBytes(outStream, toDecode);
+        byte[] cmpStreamBytes = readStreamBytes(cmpStream, toDecode);
         if (Arrays.equals(outStreamBytes, cmpStreamBytes)) {
+            if (streamsPair != null) {
+                streamsWithEqualBytes.add(streamsPair);
+            }
             return compareDictionariesExtended(outStream, cmpStream, currentPath, compareResult);
         } else {
             StringBuilder errorMessage = new StringBuilder();
@@ -0,0 +1,556 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.utils;
+
+import com.itextpdf.io.font.otf.Glyph;
+import com.itextpdf.io.font.otf.GlyphLine;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.colors.DeviceN;
+import com.itextpdf.kernel.colors.Separation;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfType0Font;
+import com.itextpdf.kernel.font.PdfType3Font;
+import com.itextpdf.kernel.geom.IShape;
+import com.itextpdf.kernel.geom.LineSegment;
+import com.itextpdf.kernel.geom.Matrix;
+import com.itextpdf.kernel.geom.Path;
+import com.itextpdf.kernel.geom.Point;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.geom.Subpath;
+import com.itextpdf.kernel.geom.Vector;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfNumber;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvasConstants;
+import com.itextpdf.kernel.pdf.canvas.parser.EventType;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfCanvasProcessor;
+import com.itextpdf.kernel.pdf.canvas.parser.data.ClippingPathInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.data.IEventData;
+import com.itextpdf.kernel.pdf.canvas.parser.data.ImageRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.data.PathRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.data.TextRenderInfo;
+import com.itextpdf.kernel.pdf.canvas.parser.listener.IEventListener;
+
+import java.awt.BasicStroke;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Renders pages into {@link BufferedImage} instances in-process, so that pages can be compared visually without
+ * external tools. The page content is processed with {@link PdfCanvasProcessor}: paths are filled and stroked,
+ * images are drawn and text is drawn with the glyph outlines of the embedded TrueType font programs, falling back to
+ * the closest logical font or, for Type 3 fonts, to the glyph boxes. Annotations, shadings, blending and
+ * transparency are not rendered.
+ * <p>
+ * The rendering is an approximation of the one of a fully-fledged PDF viewer, but it's deterministic: the same page
+ * content always gives the same pixels, which is what is needed for regression comparison.
+ * <p>
+ * Instances are not thread-safe, use an instance per thread.
+ */
+class PdfPageRasterizer {
+
+    private static final java.awt.Color UNSUPPORTED_PAINT_COLOR = new java.awt.Color(128, 128, 128);
+
+    private static final FontRenderContext FONT_RENDER_CONTEXT = new FontRenderContext(null, false, false);
+
+    // the size of the awt font which outlines are scaled down to the text space
+    private static final float GLYPH_SPACE_FONT_SIZE = 1000;
+
+    private final float scale;
+
+    private final Map<PdfDictionary, FontOutlines> fonts = new HashMap<>();
+
+    /**
+     * Creates a new {@link PdfPageRasterizer} instance.
+     *
+     * @param dpi resolution of the rendered images in dots per inch
+     */
+    PdfPageRasterizer(float dpi) {
+        this.scale = dpi / 72;
+    }
+
+    /**
+     * Renders the page on a white background.
+     *
+     * @param page         the page to render
+     * @param ignoredAreas areas in the default user space which are filled with black after the page is rendered,
+     *                     may be null
+     * @return the rendered page image
+     */
+    BufferedImage rasterize(PdfPage page, List<Rectangle> ignoredAreas) {
+        Rectangle cropBox = page.getCropBox();
+        int width = (int) Math.ceil(cropBox.getWidth() * scale);
+        int height = (int) Math.ceil(cropBox.getHeight() * scale);
+        AffineTransform pageToImage = new AffineTransform(scale, 0, 0, -scale,
+                -cropBox.getX() * scale, (cropBox.getY() + cropBox.getHeight()) * scale);
+
+        int rotation = (page.getRotation() % 360 + 360) % 360;
+        AffineTransform rotate;
+        if (rotation == 90) {
+            rotate = new AffineTransform(0, 1, -1, 0, height, 0);
+        } else if (rotation == 180) {
+            rotate = new AffineTransform(-1, 0, 0, -1, width, height);
+        } else if (rotation == 270) {
+            rotate = new AffineTransform(0, -1, 1, 0, 0, width);
+        } else {
+            rotate = new AffineTransform();
+        }
+        rotate.concatenate(pageToImage);
+        if (rotation == 90 || rotation == 270) {
+            int temp = width;
+            width = height;
+            height = temp;
+        }
+
+        BufferedImage image = new BufferedImage(Math.max(width, 1), Math.max(height, 1), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(java.awt.Color.WHITE);
+            graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.transform(rotate);
+
+            new PdfCanvasProcessor(new RenderingListener(graphics)).processPageContent(page);
+
+            if (ignoredAreas != null) {
+                graphics.setClip(null);
+                graphics.setColor(java.awt.Color.BLACK);
+                for (Rectangle area : ignoredAreas) {
+                    graphics.fill(new Rectangle2D.Float(area.getX(), area.getY(), area.getWidth(), area.getHeight()));
+                }
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Compares the images pixel by pixel.
+     *
+     * @param outImage       the first image
+     * @param cmpImage       the second image
+     * @param differenceImage the image in which the differing pixels are marked red over the faded first image, it
+     *                       shall be of the same size as the first image; may be null
+     * @return the number of the differing pixels, or -1 if the images are of different size
+     */
+    static long compareImages(BufferedImage outImage, BufferedImage cmpImage, BufferedImage differenceImage) {
+        if (outImage.getWidth() != cmpImage.getWidth() || outImage.getHeight() != cmpImage.getHeight()) {
+            return -1;
+        }
+        int width = outImage.getWidth();
+        int[] outRow = new int[width];
+        int[] cmpRow = new int[width];
+        long differentPixels = 0;
+        for (int y = 0; y < outImage.getHeight(); ++y) {
+            outImage.getRGB(0, y, width, 1, outRow, 0, width);
+            cmpImage.getRGB(0, y, width, 1, cmpRow, 0, width);
+            for (int x = 0; x < width; ++x) {
+                boolean differs = outRow[x] != cmpRow[x];
+                if (differs) {
+                    ++differentPixels;
+                }
+                if (differenceImage != null) {
+                    differenceImage.setRGB(x, y, differs ? 0xFF0000 : fade(outRow[x]));
+                }
+            }
+        }
+        return differentPixels;
+    }
+
+    private static int fade(int rgb) {
+        int r = 255 - (255 - (rgb >> 16 & 0xFF)) / 4;
+        int g = 255 - (255 - (rgb >> 8 & 0xFF)) / 4;
+        int b = 255 - (255 - (rgb & 0xFF)) / 4;
+        return r << 16 | g << 8 | b;
+    }
+
+    private static AffineTransform toAffineTransform(Matrix matrix) {
+        return new AffineTransform(matrix.get(Matrix.I11), matrix.get(Matrix.I12), matrix.get(Matrix.I21),
+                matrix.get(Matrix.I22), matrix.get(Matrix.I31), matrix.get(Matrix.I32));
+    }
+
+    private static Path2D toShape(Path path, int windingRule) {
+        Path2D shape = new Path2D.Double(windingRule);
+        for (Subpath subpath : path.getSubpaths()) {
+            Point start = subpath.getStartPoint();
+            if (start == null) {
+                continue;
+            }
+            shape.moveTo(start.getX(), start.getY());
+            for (IShape segment : subpath.getSegments()) {
+                List<Point> points = segment.getBasePoints();
+                if (points.size() == 4) {
+                    shape.curveTo(points.get(1).getX(), points.get(1).getY(), points.get(2).getX(), points.get(2).getY(),
+                            points.get(3).getX(), points.get(3).getY());
+                } else {
+                    Point end = points.get(points.size() - 1);
+                    shape.lineTo(end.getX(), end.getY());
+                }
+            }
+            if (subpath.isClosed()) {
+                shape.closePath();
+            }
+        }
+        return shape;
+    }
+
+    private static java.awt.Color toAwtColor(Color color) {
+        if (color == null) {
+            return java.awt.Color.BLACK;
+        }
+        float[] value = color.getColorValue();
+        if (color instanceof Separation || color instanceof DeviceN) {
+            float tint = 0;
+            for (float component : value) {
+                tint += component;
+            }
+            float gray = clamp(1 - tint / Math.max(value.length, 1));
+            return new java.awt.Color(gray, gray, gray);
+        }
+        switch (value.length) {
+            case 1:
+                return new java.awt.Color(clamp(value[0]), clamp(value[0]), clamp(value[0]));
+            case 3:
+                return new java.awt.Color(clamp(value[0]), clamp(value[1]), clamp(value[2]));
+            case 4:
+                float black = 1 - clamp(value[3]);
+                return new java.awt.Color((1 - clamp(value[0])) * black, (1 - clamp(value[1])) * black,
+                        (1 - clamp(value[2])) * black);
+            default:
+                return UNSUPPORTED_PAINT_COLOR;
+        }
+    }
+
+    private static float clamp(float value) {
+        return Math.max(0, Math.min(1, value));
+    }
+
+    private FontOutlines getFontOutlines(PdfFont font) {
+        PdfDictionary fontDict = font.getPdfObject();
+        FontOutlines outlines = fonts.get(fontDict);
+        if (outlines == null) {
+            outlines = new FontOutlines(font);
+            fonts.put(fontDict, outlines);
+        }
+        return outlines;
+    }
+
+    /**
+     * Gets outlines of the glyphs of a font: from the embedded TrueType font program if it can be loaded,
+     * otherwise from the logical font that matches the base font name.
+     */
+    private static class FontOutlines {
+        private final Font embeddedFont;
+        private final Font logicalFont;
+        private final boolean glyphIdsAreCodes;
+        private final boolean type3;
+
+        FontOutlines(PdfFont font) {
+            PdfDictionary fontDict = font.getPdfObject();
+            type3 = font instanceof PdfType3Font;
+            PdfDictionary descriptorHolder = fontDict;
+            boolean identityCidToGid = false;
+            if (font instanceof PdfType0Font) {
+                PdfArray descendantFonts = fontDict.getAsArray(PdfName.DescendantFonts);
+                descriptorHolder = descendantFonts != null ? descendantFonts.getAsDictionary(0) : null;
+                if (descriptorHolder != null) {
+                    PdfName cidToGidMap = descriptorHolder.getAsName(PdfName.CIDToGIDMap);
+                    identityCidToGid = PdfName.CIDFontType2.equals(descriptorHolder.getAsName(PdfName.Subtype))
+                            && (cidToGidMap == null || PdfName.Identity.equals(cidToGidMap));
+                }
+            }
+            PdfDictionary descriptor = descriptorHolder != null ? descriptorHolder.getAsDictionary(PdfName.FontDescriptor) : null;
+            PdfStream fontFile = descriptor != null ? descriptor.getAsStream(PdfName.FontFile2) : null;
+            Font loadedFont = null;
+            if (fontFile != null) {
+                try {
+                    loadedFont = Font.createFont(Font.TRUETYPE_FONT, new ByteArrayInputStream(fontFile.getBytes()))
+                            .deriveFont(GLYPH_SPACE_FONT_SIZE);
+                } catch (Exception e) {
+                    // the font program can't be loaded by awt, the logical font will be used instead
+                    loadedFont = null;
+                }
+            }
+            embeddedFont = loadedFont;
+            glyphIdsAreCodes = identityCidToGid;
+            logicalFont = createLogicalFont(fontDict.getAsName(PdfName.BaseFont));
+        }
+
+        /**
+         * @return the outline of the glyph in the glyph space, where the font size is 1, or null if
+         * the glyph shall be rendered as a box.
+         */
+        Shape getGlyphOutline(TextRenderInfo charInfo, PdfFont font) {
+            if (type3) {
+                return null;
+            }
+            GlyphVector glyphVector = null;
+            if (embeddedFont != null && glyphIdsAreCodes) {
+                GlyphLine glyphLine = font.decodeIntoGlyphLine(charInfo.getPdfString());
+                int[] glyphIds = new int[glyphLine.size()];
+                for (int i = 0; i < glyphLine.size(); ++i) {
+                    Glyph glyph = glyphLine.get(i);
+                    glyphIds[i] = glyph.getCode();
+                }
+                glyphVector = embeddedFont.createGlyphVector(FONT_RENDER_CONTEXT, glyphIds);
+            } else {
+                String text = charInfo.getText();
+                if (text == null || text.isEmpty()) {
+                    return new Path2D.Float();
+                }
+                Font awtFont = embeddedFont != null && embeddedFont.canDisplayUpTo(text) == -1 ? embeddedFont : logicalFont;
+                glyphVector = awtFont.createGlyphVector(FONT_RENDER_CONTEXT, text);
+            }
+            AffineTransform toGlyphSpace = AffineTransform.getScaleInstance(1 / GLYPH_SPACE_FONT_SIZE, -1 / GLYPH_SPACE_FONT_SIZE);
+            return toGlyphSpace.createTransformedShape(glyphVector.getOutline());
+        }
+
+        private static Font createLogicalFont(PdfName baseFont) {
+            String name = baseFont != null ? baseFont.getValue() : "";
+            String family = Font.SANS_SERIF;
+            if (name.contains("Courier") || name.contains("Mono")) {
+                family = Font.MONOSPACED;
+            } else if (name.contains("Times") || name.contains("Serif") && !name.contains("Sans")) {
+                family = Font.SERIF;
+            }
+            int style = Font.PLAIN;
+            if (name.contains("Bold")) {
+                style |= Font.BOLD;
+            }
+            if (name.contains("Italic") || name.contains("Oblique")) {
+                style |= Font.ITALIC;
+            }
+            return new Font(family, style, 1).deriveFont(GLYPH_SPACE_FONT_SIZE);
+        }
+    }
+
+    private class RenderingListener implements IEventListener {
+        private final Graphics2D graphics;
+
+        RenderingListener(Graphics2D graphics) {
+            this.graphics = graphics;
+        }
+
+        @Override
+        public void eventOccurred(IEventData data, EventType type) {
+            switch (type) {
+                case CLIP_PATH_CHANGED:
+                    clip((ClippingPathInfo) data);
+                    break;
+                case RENDER_PATH:
+                    renderPath((PathRenderInfo) data);
+                    break;
+                case RENDER_TEXT:
+                    renderText((TextRenderInfo) data);
+                    break;
+                case RENDER_IMAGE:
+                    renderImage((ImageRenderInfo) data);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public Set<EventType> getSupportedEvents() {
+            return null;
+        }
+
+        private void clip(ClippingPathInfo clippingPathInfo) {
+            Path clippingPath = clippingPathInfo.getClippingPath();
+            if (clippingPath == null) {
+                graphics.setClip(null);
+            } else {
+                graphics.setClip(toAffineTransform(clippingPathInfo.getCtm())
+                        .createTransformedShape(toShape(clippingPath, Path2D.WIND_NON_ZERO)));
+            }
+        }
+
+        private void renderPath(PathRenderInfo pathInfo) {
+            int operation = pathInfo.getOperation();
+            if (operation == PathRenderInfo.NO_OP) {
+                return;
+            }
+            AffineTransform ctm = toAffineTransform(pathInfo.getCtm());
+            int windingRule = pathInfo.getRule() == PdfCanvasConstants.FillingRule.EVEN_ODD ? Path2D.WIND_EVEN_ODD : Path2D.WIND_NON_ZERO;
+            Shape shape = ctm.createTransformedShape(toShape(pathInfo.getPath(), windingRule));
+            if ((operation & PathRenderInfo.FILL) != 0) {
+                graphics.setColor(toAwtColor(pathInfo.getFillColor()));
+                graphics.fill(shape);
+            }
+            if ((operation & PathRenderInfo.STROKE) != 0) {
+                graphics.setColor(toAwtColor(pathInfo.getStrokeColor()));
+                graphics.setStroke(createStroke(pathInfo, Math.sqrt(Math.abs(ctm.getDeterminant()))));
+                graphics.draw(shape);
+            }
+        }
+
+        private BasicStroke createStroke(PathRenderInfo pathInfo, double ctmScale) {
+            // zero width lines are the thinnest lines that can be rendered, i.e. one pixel wide
+            float lineWidth = Math.max((float) (pathInfo.getLineWidth() * ctmScale), 1 / scale);
+            int cap;
+            switch (pathInfo.getLineCapStyle()) {
+                case PdfCanvasConstants.LineCapStyle.ROUND:
+                    cap = BasicStroke.CAP_ROUND;
+                    break;
+                case PdfCanvasConstants.LineCapStyle.PROJECTING_SQUARE:
+                    cap = BasicStroke.CAP_SQUARE;
+                    break;
+                default:
+                    cap = BasicStroke.CAP_BUTT;
+                    break;
+            }
+            int join;
+            switch (pathInfo.getLineJoinStyle()) {
+                case PdfCanvasConstants.LineJoinStyle.ROUND:
+                    join = BasicStroke.JOIN_ROUND;
+                    break;
+                case PdfCanvasConstants.LineJoinStyle.BEVEL:
+                    join = BasicStroke.JOIN_BEVEL;
+                    break;
+                default:
+                    join = BasicStroke.JOIN_MITER;
+                    break;
+            }
+            float miterLimit = Math.max(pathInfo.getMiterLimit(), 1);
+
+            PdfArray dashPattern = pathInfo.getLineDashPattern();
+            PdfArray dashArray = dashPattern != null ? dashPattern.getAsArray(0) : null;
+            if (dashArray != null && !dashArray.isEmpty()) {
+                float[] dashes = new float[dashArray.size()];
+                float dashesLength = 0;
+                for (int i = 0; i < dashes.length; ++i) {
+                    PdfNumber dash = dashArray.getAsNumber(i);
+                    dashes[i] = dash != null ? (float) (Math.abs(dash.floatValue()) * ctmScale) : 0;
+                    dashesLength += dashes[i];
+                }
+                if (dashesLength > 0) {
+                    PdfNumber phase = dashPattern.getAsNumber(1);
+                    float dashPhase = phase != null ? (float) (phase.floatValue() * ctmScale) : 0;
+                    return new BasicStroke(lineWidth, cap, join, miterLimit, dashes, Math.max(dashPhase, 0));
+                }
+            }
+            return new BasicStroke(lineWidth, cap, join, miterLimit);
+        }
+
+        private void renderText(TextRenderInfo textInfo) {
+            int renderMode = textInfo.getTextRenderMode();
+            if (renderMode == PdfCanvasConstants.TextRenderingMode.INVISIBLE
+                    || renderMode == PdfCanvasConstants.TextRenderingMode.CLIP) {
+                return;
+            }
+            boolean strokeOnly = renderMode == PdfCanvasConstants.TextRenderingMode.STROKE
+                    || renderMode == PdfCanvasConstants.TextRenderingMode.STROKE_CLIP;
+            graphics.setColor(toAwtColor(strokeOnly ? textInfo.getStrokeColor() : textInfo.getFillColor()));
+
+            PdfFont font = textInfo.getFont();
+            FontOutlines outlines = getFontOutlines(font);
+            Matrix glyphToText = new Matrix(textInfo.getFontSize() * textInfo.getHorizontalScaling() / 100, 0, 0,
+                    textInfo.getFontSize(), 0, textInfo.getRise());
+            for (TextRenderInfo charInfo : textInfo.getCharacterRenderInfos()) {
+                Shape outline = outlines.getGlyphOutline(charInfo, font);
+                if (outline != null) {
+                    Matrix glyphToPage = glyphToText.multiply(charInfo.getTextMatrix())
+                            .multiply(charInfo.getGraphicsState().getCtm());
+                    graphics.fill(toAffineTransform(glyphToPage).createTransformedShape(outline));
+                } else {
+                    graphics.fill(createGlyphBox(charInfo));
+                }
+            }
+        }
+
+        private Shape createGlyphBox(TextRenderInfo charInfo) {
+            LineSegment ascent = charInfo.getAscentLine();
+            LineSegment descent = charInfo.getDescentLine();
+            Path2D box = new Path2D.Float();
+            Vector point = ascent.getStartPoint();
+            box.moveTo(point.get(Vector.I1), point.get(Vector.I2));
+            point = ascent.getEndPoint();
+            box.lineTo(point.get(Vector.I1), point.get(Vector.I2));
+            point = descent.getEndPoint();
+            box.lineTo(point.get(Vector.I1), point.get(Vector.I2));
+            point = descent.getStartPoint();
+            box.lineTo(point.get(Vector.I1), point.get(Vector.I2));
+            box.closePath();
+            return box;
+        }
+
+        private void renderImage(ImageRenderInfo imageInfo) {
+            AffineTransform unitSquareToPage = toAffineTransform(imageInfo.getImageCtm());
+            BufferedImage image = null;
+            try {
+                image = imageInfo.getImage().getBufferedImage();
+            } catch (Exception e) {
+                // the image can't be decoded by awt, its area is painted instead
+                image = null;
+            }
+            if (image == null) {
+                graphics.setColor(UNSUPPORTED_PAINT_COLOR);
+                graphics.fill(unitSquareToPage.createTransformedShape(new Rectangle2D.Float(0, 0, 1, 1)));
+                return;
+            }
+            AffineTransform imageToPage = new AffineTransform(unitSquareToPage);
+            imageToPage.concatenate(new AffineTransform(1.0 / image.getWidth(), 0, 0, -1.0 / image.getHeight(), 0, 1));
+            graphics.drawImage(image, imageToPage, null);
+        }
+    }
+}
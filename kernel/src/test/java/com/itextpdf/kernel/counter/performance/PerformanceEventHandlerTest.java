@@ -0,0 +1,184 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.counter.performance;
+
+import com.itextpdf.io.source.ByteArrayOutputStream;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class PerformanceEventHandlerTest extends ExtendedITextTest {
+
+    @Test
+    public void disabledWithoutSinksTest() {
+        InMemoryPerformanceEventSink sink = new InMemoryPerformanceEventSink();
+        Assert.assertFalse(PerformanceEventHandler.getInstance().isEnabled());
+        long start = PerformanceEventHandler.getInstance().start();
+        Assert.assertEquals(PerformanceEventHandler.DISABLED, start);
+
+        PerformanceEventHandler.getInstance().register(sink);
+        try {
+            Assert.assertTrue(PerformanceEventHandler.getInstance().isEnabled());
+            // the phase was started while instrumentation was disabled, so it is not reported
+            PerformanceEventHandler.getInstance().finish(PerformancePhase.FLUSH, null, start, 10);
+            Assert.assertTrue(sink.getStatistics().isEmpty());
+        } finally {
+            Assert.assertTrue(PerformanceEventHandler.getInstance().unregister(sink));
+        }
+        Assert.assertFalse(PerformanceEventHandler.getInstance().isEnabled());
+    }
+
+    @Test
+    public void inMemorySinkAggregatesEventsTest() {
+        InMemoryPerformanceEventSink sink = new InMemoryPerformanceEventSink();
+        sink.onPerformanceEvent(new PerformanceEvent(PerformancePhase.STREAM_DECODE, "FlateDecode", 1000, 50));
+        sink.onPerformanceEvent(new PerformanceEvent(PerformancePhase.STREAM_DECODE, "FlateDecode", 3000, 150));
+        sink.onPerformanceEvent(new PerformanceEvent(PerformancePhase.XREF_READ, null, 10, -1));
+
+        Map<String, InMemoryPerformanceEventSink.Statistics> statistics = sink.getStatistics();
+        Assert.assertEquals(2, statistics.size());
+        InMemoryPerformanceEventSink.Statistics decode = statistics.get("perf-stream_decode-FlateDecode");
+        Assert.assertEquals(2, decode.getCount());
+        Assert.assertEquals(4000, decode.getTotalNanos());
+        Assert.assertEquals(3000, decode.getMaxNanos());
+        Assert.assertEquals(200, decode.getTotalBytes());
+        // 1000 falls into [512, 1024), 3000 falls into [2048, 4096)
+        Assert.assertEquals(1, decode.getHistogram()[9]);
+        Assert.assertEquals(1, decode.getHistogram()[11]);
+
+        InMemoryPerformanceEventSink.Statistics xref = statistics.get("perf-xref_read");
+        Assert.assertEquals(1, xref.getCount());
+        Assert.assertEquals(0, xref.getTotalBytes());
+
+        sink.reset();
+        Assert.assertTrue(sink.getStatistics().isEmpty());
+    }
+
+    @Test
+    public void nestedPhaseIsExcludedFromEnclosingPhaseTest() throws InterruptedException {
+        InMemoryPerformanceEventSink sink = new InMemoryPerformanceEventSink();
+        PerformanceEventHandler.getInstance().register(sink);
+        try {
+            long outerStart = PerformanceEventHandler.getInstance().start();
+            long innerStart = PerformanceEventHandler.getInstance().start();
+            Thread.sleep(200);
+            PerformanceEventHandler.getInstance().finish(PerformancePhase.COMPRESSION, null, innerStart, -1);
+            PerformanceEventHandler.getInstance().finish(PerformancePhase.FLUSH, null, outerStart, -1);
+
+            Map<String, InMemoryPerformanceEventSink.Statistics> statistics = sink.getStatistics();
+            long compressionNanos = statistics.get("perf-compression").getTotalNanos();
+            long flushNanos = statistics.get("perf-flush").getTotalNanos();
+            Assert.assertTrue(compressionNanos >= 200000000L);
+            Assert.assertTrue(flushNanos >= 0);
+            Assert.assertTrue(flushNanos < compressionNanos);
+        } finally {
+            PerformanceEventHandler.getInstance().unregister(sink);
+        }
+    }
+
+    @Test
+    public void objectsInObjectStreamsReportNoFlushBytesTest() throws IOException {
+        InMemoryPerformanceEventSink sink = new InMemoryPerformanceEventSink();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos, new WriterProperties().setFullCompressionMode(true)));
+        pdfDocument.addNewPage();
+        PdfDictionary dictionary = new PdfDictionary();
+        dictionary.put(PdfName.Name, new PdfString("buffered"));
+        dictionary.makeIndirect(pdfDocument);
+        PerformanceEventHandler.getInstance().register(sink);
+        try {
+            dictionary.flush();
+            InMemoryPerformanceEventSink.Statistics flush = sink.getStatistics().get("perf-flush");
+            Assert.assertEquals(1, flush.getCount());
+            Assert.assertEquals(0, flush.getTotalBytes());
+        } finally {
+            PerformanceEventHandler.getInstance().unregister(sink);
+        }
+        pdfDocument.close();
+    }
+
+    @Test
+    public void documentPhasesAreReportedTest() throws IOException {
+        InMemoryPerformanceEventSink sink = new InMemoryPerformanceEventSink();
+        PerformanceEventHandler.getInstance().register(sink);
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            PdfDocument pdfDocument = new PdfDocument(new PdfWriter(baos));
+            new PdfCanvas(pdfDocument.addNewPage()).rectangle(100, 100, 200, 200).fill().release();
+            pdfDocument.close();
+
+            Map<String, InMemoryPerformanceEventSink.Statistics> statistics = sink.getStatistics();
+            Assert.assertTrue(statistics.get("perf-flush").getCount() > 0);
+            Assert.assertTrue(statistics.get("perf-flush").getTotalBytes() > 0);
+            Assert.assertTrue(statistics.get("perf-compression").getCount() > 0);
+            Assert.assertNull(statistics.get("perf-xref_read"));
+
+            sink.reset();
+            pdfDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(baos.toByteArray())));
+            pdfDocument.getPage(1).getContentBytes();
+            pdfDocument.close();
+
+            statistics = sink.getStatistics();
+            Assert.assertEquals(1, statistics.get("perf-xref_read").getCount());
+            Assert.assertTrue(statistics.get("perf-object_parse").getCount() > 0);
+            Assert.assertTrue(statistics.get("perf-stream_decode-FlateDecode").getTotalBytes() > 0);
+        } finally {
+            PerformanceEventHandler.getInstance().unregister(sink);
+        }
+    }
+}
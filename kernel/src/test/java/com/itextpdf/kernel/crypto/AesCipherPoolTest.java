@@ -0,0 +1,143 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.kernel.crypto;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+@Category(UnitTest.class)
+public class AesCipherPoolTest extends ExtendedITextTest {
+
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.ISO_8859_1);
+    private static final byte[] OTHER_KEY = "fedcba9876543210".getBytes(StandardCharsets.ISO_8859_1);
+
+    @Test
+    public void reusedCipherProducesSameResultAsNewCipherTest() {
+        AesCipherPool pool = new AesCipherPool();
+        byte[] data = "Some data which spans over more than a single block".getBytes(StandardCharsets.ISO_8859_1);
+        byte[] iv1 = new byte[16];
+        byte[] iv2 = new byte[16];
+        iv2[0] = 1;
+
+        AESCipher cipher = pool.acquire(true, KEY, 0, KEY.length, iv1);
+        byte[] first = encrypt(cipher, data);
+        pool.release(cipher);
+
+        AESCipher reused = pool.acquire(true, KEY, 0, KEY.length, iv2);
+        Assert.assertSame(cipher, reused);
+        Assert.assertArrayEquals(encrypt(new AESCipher(true, KEY, iv2), data), encrypt(reused, data));
+        pool.release(reused);
+
+        reused = pool.acquire(true, OTHER_KEY, 0, OTHER_KEY.length, iv1);
+        Assert.assertSame(cipher, reused);
+        Assert.assertArrayEquals(encrypt(new AESCipher(true, OTHER_KEY, iv1), data), encrypt(reused, data));
+        Assert.assertFalse(Arrays.equals(first, encrypt(pool.acquire(true, OTHER_KEY, 0, OTHER_KEY.length, iv1), data)));
+    }
+
+    @Test
+    public void cipherInUseIsNotHandedOutTwiceTest() {
+        AesCipherPool pool = new AesCipherPool();
+        byte[] iv = new byte[16];
+        AESCipher first = pool.acquire(false, KEY, 0, KEY.length, iv);
+        AESCipher second = pool.acquire(false, KEY, 0, KEY.length, iv);
+        Assert.assertNotSame(first, second);
+        pool.release(first);
+        Assert.assertNotSame(first, pool.acquire(true, KEY, 0, KEY.length, iv));
+        Assert.assertSame(first, pool.acquire(false, KEY, 0, KEY.length, iv));
+    }
+
+    @Test
+    public void encryptAndDecryptWithPooledCiphersTest() throws Exception {
+        AesCipherPool pool = new AesCipherPool();
+        for (int i = 0; i < 3; i++) {
+            byte[] data = ("Content of the object number " + i).getBytes(StandardCharsets.ISO_8859_1);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            OutputStreamAesEncryption encryption = new OutputStreamAesEncryption(baos, KEY, 0, KEY.length, pool);
+            encryption.write(data);
+            encryption.finish();
+
+            byte[] encrypted = baos.toByteArray();
+            AesDecryptor decryptor = new AesDecryptor(KEY, 0, KEY.length, pool);
+            baos = new ByteArrayOutputStream();
+            baos.write(decryptor.update(encrypted, 0, encrypted.length));
+            baos.write(decryptor.finish());
+            Assert.assertArrayEquals(data, baos.toByteArray());
+        }
+    }
+
+    @Test
+    public void decryptorStartsOverAfterFinishTest() throws Exception {
+        AesCipherPool pool = new AesCipherPool();
+        AesDecryptor decryptor = new AesDecryptor(KEY, 0, KEY.length, pool);
+        for (int i = 0; i < 2; i++) {
+            byte[] data = ("Content of the string number " + i).getBytes(StandardCharsets.ISO_8859_1);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            OutputStreamAesEncryption encryption = new OutputStreamAesEncryption(baos, KEY, 0, KEY.length, pool);
+            encryption.write(data);
+            encryption.finish();
+
+            byte[] encrypted = baos.toByteArray();
+            baos = new ByteArrayOutputStream();
+            // The decryptor released its cipher to the pool on finish, so it reads a new IV
+            baos.write(decryptor.update(encrypted, 0, encrypted.length));
+            baos.write(decryptor.finish());
+            Assert.assertArrayEquals(data, baos.toByteArray());
+        }
+    }
+
+    private static byte[] encrypt(AESCipher cipher, byte[] data) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] b = cipher.update(data, 0, data.length);
+        baos.write(b, 0, b.length);
+        b = cipher.doFinal();
+        baos.write(b, 0, b.length);
+        return baos.toByteArray();
+    }
+}
@@ -62,6 +62,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
 import java.io.IOException;
+import java.util.Map;
 
 import static org.junit.Assert.assertTrue;
 
@@ -364,6 +365,56 @@ public class ParentTreeTest extends ExtendedITextTest {
         assertTrue(checkParentTree(outFile, cmpFile));
     }
 
+    @Test
+    public void streamingModeTest() throws IOException {
+        String outFile = destinationFolder + "streamingModeTest.pdf";
+        int pagesCount = 50;
+        PdfDocument document = new PdfDocument(new PdfWriter(outFile));
+        document.setTagged();
+        document.getTagStructureContext().setStreamingMode(true);
+
+        PdfStructElem doc = document.getStructTreeRoot().addKid(new PdfStructElem(document, PdfName.Document));
+        for (int i = 1; i <= pagesCount; i++) {
+            PdfPage page = document.addNewPage();
+            PdfCanvas canvas = new PdfCanvas(page);
+            canvas.beginText();
+            canvas.setFontAndSize(PdfFontFactory.createFont(StandardFonts.COURIER), 24);
+            canvas.setTextMatrix(1, 0, 0, 1, 32, 512);
+            PdfStructElem paragraph = doc.addKid(new PdfStructElem(document, PdfName.P, page));
+            canvas.openTag(new CanvasTag(paragraph.addKid(new PdfMcrNumber(page, paragraph))));
+            canvas.showText("Page " + i);
+            canvas.closeTag();
+            canvas.endText();
+            canvas.release();
+            document.getTagStructureContext().getAutoTaggingPointer().setPageForTagging(page);
+            page.addAnnotation(new PdfLinkAnnotation(new Rectangle(35, 785, 160, 15)));
+
+            page.flush();
+            Assert.assertTrue(paragraph.isFlushed());
+            Assert.assertNull(document.getStructTreeRoot().getPageMarkedContentReferences(page));
+        }
+        document.close();
+
+        PdfDocument result = new PdfDocument(new PdfReader(outFile));
+        Map<Integer, PdfObject> parentTree = new PdfNumTree(result.getCatalog(), PdfName.ParentTree).getNumbers();
+        Assert.assertEquals(2 * pagesCount, parentTree.size());
+        for (int i = 1; i <= pagesCount; i++) {
+            PdfPage page = result.getPage(i);
+            PdfArray parents = (PdfArray) parentTree.get(page.getStructParentIndex());
+            Assert.assertEquals(page.getPdfObject(), parents.getAsDictionary(0).getAsDictionary(PdfName.Pg));
+            PdfDictionary annot = page.getPdfObject().getAsArray(PdfName.Annots).getAsDictionary(0);
+            PdfDictionary annotParent = (PdfDictionary) parentTree.get(annot.getAsInt(PdfName.StructParent));
+            Assert.assertEquals(PdfName.Document, annotParent.getAsName(PdfName.S));
+        }
+        PdfArray leaves = result.getStructTreeRoot().getPdfObject().getAsDictionary(PdfName.ParentTree)
+                .getAsArray(PdfName.Kids);
+        Assert.assertEquals(3, leaves.size());
+        Assert.assertArrayEquals(new int[] {0, 39}, leaves.getAsDictionary(0).getAsArray(PdfName.Limits).toIntArray());
+        Assert.assertArrayEquals(new int[] {40, 79}, leaves.getAsDictionary(1).getAsArray(PdfName.Limits).toIntArray());
+        Assert.assertArrayEquals(new int[] {80, 99}, leaves.getAsDictionary(2).getAsArray(PdfName.Limits).toIntArray());
+        result.close();
+    }
+
     private boolean checkParentTree(String outFileName, String cmpFileName) throws IOException {
         PdfReader outReader = new PdfReader(outFileName);
         PdfDocument outDocument = new PdfDocument(outReader);
@@ -64,7 +64,11 @@ import com.itextpdf.test.annotations.type.IntegrationTest;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Calendar;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -1331,6 +1335,65 @@ public class PdfStampingTest extends ExtendedITextTest {
 
     }
 
+    @Test
+    public void appendModeKeepsOriginalFileBytesTest() throws IOException {
+        String src = destinationFolder + "appendModeKeepsOriginalFileBytesSrc.pdf";
+        String dest = destinationFolder + "appendModeKeepsOriginalFileBytes.pdf";
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(src));
+        pdfDoc.addNewPage();
+        pdfDoc.addNewPage();
+        pdfDoc.close();
+
+        // garbage before the header is not a part of the document and shall not be copied
+        byte[] srcBytes = Files.readAllBytes(Paths.get(src));
+        String srcWithOffset = destinationFolder + "appendModeKeepsOriginalFileBytesSrcWithOffset.pdf";
+        try (FileOutputStream fos = new FileOutputStream(srcWithOffset)) {
+            fos.write("garbage\n".getBytes());
+            fos.write(srcBytes);
+        }
+
+        pdfDoc = new PdfDocument(new PdfReader(srcWithOffset), new PdfWriter(dest), new StampingProperties().useAppendMode());
+        pdfDoc.getDocumentInfo().setTitle("Appended");
+        pdfDoc.close();
+
+        byte[] destBytes = Files.readAllBytes(Paths.get(dest));
+        Assert.assertTrue(destBytes.length > srcBytes.length);
+        Assert.assertArrayEquals(srcBytes, Arrays.copyOf(destBytes, srcBytes.length));
+
+        pdfDoc = new PdfDocument(new PdfReader(dest));
+        Assert.assertEquals(2, pdfDoc.getNumberOfPages());
+        Assert.assertEquals("Appended", pdfDoc.getDocumentInfo().getTitle());
+        pdfDoc.close();
+    }
+
+    @Test
+    public void stampingPreservedEncryptionKeepsStreamBytesTest() throws IOException {
+        byte[] user = "user".getBytes();
+        byte[] owner = "owner".getBytes();
+        ByteArrayOutputStream encrypted = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(encrypted, new WriterProperties()
+                .setStandardEncryption(user, owner, EncryptionConstants.ALLOW_PRINTING, EncryptionConstants.ENCRYPTION_AES_256)));
+        new PdfCanvas(pdfDoc.addNewPage()).rectangle(100, 100, 200, 200).fill();
+        pdfDoc.close();
+
+        ByteArrayOutputStream stamped = new ByteArrayOutputStream();
+        pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(encrypted.toByteArray()),
+                new ReaderProperties().setPassword(owner)), new PdfWriter(stamped), new StampingProperties().preserveEncryption());
+        pdfDoc.getDocumentInfo().setTitle("Stamped");
+        PdfStream srcContent = pdfDoc.getPage(1).getFirstContentStream();
+        byte[] srcEncryptedBytes = pdfDoc.getReader().readStreamBytesRaw(srcContent, false);
+        pdfDoc.close();
+
+        pdfDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(stamped.toByteArray()),
+                new ReaderProperties().setPassword(user)));
+        PdfStream outContent = pdfDoc.getPage(1).getFirstContentStream();
+        // AES encryption uses a random initialization vector, so re-encrypted bytes would differ
+        Assert.assertArrayEquals(srcEncryptedBytes, pdfDoc.getReader().readStreamBytesRaw(outContent, false));
+        Assert.assertEquals("100 100 200 200 re\nf\n", new String(outContent.getBytes()));
+        Assert.assertEquals("Stamped", pdfDoc.getDocumentInfo().getTitle());
+        pdfDoc.close();
+    }
+
     
     static void verifyPdfPagesCount(PdfObject root) {
         if (root.getType() == PdfObject.INDIRECT_REFERENCE)
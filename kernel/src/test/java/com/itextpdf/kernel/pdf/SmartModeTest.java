@@ -42,16 +42,23 @@
  */
 package com.itextpdf.kernel.pdf;
 
+import com.itextpdf.io.source.ByteArrayOutputStream;
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.tagging.IStructureNode;
+import com.itextpdf.kernel.pdf.tagging.PdfStructElem;
 import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.kernel.utils.CompareTool;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -516,6 +523,29 @@ public class SmartModeTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void smartModeSerializedObjectsCacheKeepsDigestsTest() throws IOException {
+        String srcFile = sourceFolder + "nestedIndirectDictionaries.pdf";
+
+        try (PdfDocument pdfDest = new PdfDocument(new PdfWriter(new ByteArrayOutputStream(),
+                new WriterProperties().useSmartMode()))) {
+            try (PdfDocument pdfSrc = new PdfDocument(new PdfReader(srcFile))) {
+                pdfSrc.copyPagesTo(1, pdfSrc.getNumberOfPages(), pdfDest);
+
+                Assert.assertFalse(pdfSrc.serializedObjectsCache.isEmpty());
+                for (byte[] serializedContent : pdfSrc.serializedObjectsCache.values()) {
+                    // the cache shall not grow with the depth of the copied objects graph
+                    Assert.assertEquals(16, serializedContent.length);
+                }
+                for (int i = 1; i <= pdfSrc.getNumberOfPages(); i++) {
+                    // pages never repeat and are not serialized
+                    Assert.assertFalse(pdfSrc.serializedObjectsCache.containsKey(
+                            pdfSrc.getPage(i).getPdfObject().getIndirectReference()));
+                }
+            }
+        }
+    }
+
     @Test
     public void smartModeSeparatedOutlinesCopyingTest() throws IOException, InterruptedException {
         String dstFile = destinationFolder + "smartModeSeparatedOutlinesCopying.pdf";
@@ -591,4 +621,65 @@ public class SmartModeTest extends ExtendedITextTest {
             }
         }
     }
+
+    @Test
+    public void smartModeMergesOnlyRepeatedObjectsInOutputTest() throws IOException {
+        String srcFile = sourceFolder + "docWithAllPagesIdenticalTagged.pdf";
+        String smartDstFile = destinationFolder + "smartModeMergesOnlyRepeatedObjectsInOutput.pdf";
+        String plainDstFile = destinationFolder + "smartModeMergesOnlyRepeatedObjectsInOutput_plain.pdf";
+
+        copyPagesTwiceToTaggedDocument(srcFile, smartDstFile, new WriterProperties().useSmartMode());
+        copyPagesTwiceToTaggedDocument(srcFile, plainDstFile, new WriterProperties());
+
+        try (PdfDocument smartDoc = new PdfDocument(new PdfReader(smartDstFile));
+                PdfDocument plainDoc = new PdfDocument(new PdfReader(plainDstFile));
+                PdfDocument srcDoc = new PdfDocument(new PdfReader(srcFile))) {
+            // identical content streams and resources are written only once
+            Assert.assertTrue(smartDoc.getNumberOfPdfObjects() < plainDoc.getNumberOfPdfObjects());
+            PdfIndirectReference expectedContStm = smartDoc.getPage(1).getPdfObject()
+                    .getAsStream(PdfName.Contents).getIndirectReference();
+            Set<PdfIndirectReference> pages = new HashSet<>();
+            for (int i = 1; i <= smartDoc.getNumberOfPages(); i++) {
+                PdfDictionary page = smartDoc.getPage(i).getPdfObject();
+                Assert.assertEquals(expectedContStm, page.getAsStream(PdfName.Contents).getIndirectReference());
+                pages.add(page.getIndirectReference());
+            }
+
+            // pages and structure elements are never merged, even though they are copied from the same objects
+            Assert.assertEquals(2 * srcDoc.getNumberOfPages(), pages.size());
+            Set<PdfIndirectReference> srcStructElems = collectStructElems(srcDoc);
+            Set<PdfIndirectReference> smartStructElems = collectStructElems(smartDoc);
+            Assert.assertTrue(smartStructElems.size() > srcStructElems.size());
+            Assert.assertEquals(collectStructElems(plainDoc).size(), smartStructElems.size());
+        }
+    }
+
+    private static void copyPagesTwiceToTaggedDocument(String srcFile, String dstFile, WriterProperties properties)
+            throws IOException {
+        try (PdfDocument pdfDest = new PdfDocument(new PdfWriter(dstFile, properties))) {
+            pdfDest.setTagged();
+            for (int i = 0; i < 2; i++) {
+                try (PdfDocument pdfSrc = new PdfDocument(new PdfReader(srcFile))) {
+                    pdfSrc.copyPagesTo(1, pdfSrc.getNumberOfPages(), pdfDest);
+                }
+            }
+        }
+    }
+
+    private static Set<PdfIndirectReference> collectStructElems(PdfDocument pdfDoc) {
+        Set<PdfIndirectReference> structElems = new HashSet<>();
+        Deque<IStructureNode> nodes = new ArrayDeque<>(pdfDoc.getStructTreeRoot().getKids());
+        while (!nodes.isEmpty()) {
+            IStructureNode node = nodes.pop();
+            if (node instanceof PdfStructElem) {
+                structElems.add(((PdfStructElem) node).getPdfObject().getIndirectReference());
+                for (IStructureNode kid : node.getKids()) {
+                    if (kid != null) {
+                        nodes.push(kid);
+                    }
+                }
+            }
+        }
+        return structElems;
+    }
 }
@@ -45,12 +45,26 @@ package com.itextpdf.kernel.utils;
 import com.itextpdf.io.IoExceptionMessage;
 import com.itextpdf.io.util.GhostscriptHelper;
 import com.itextpdf.io.util.SystemUtil;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Rule;
@@ -147,6 +161,31 @@ public class CompareToolTest extends ExtendedITextTest {
 
     }
 
+    @Test
+    public void compareByCatalogSharedStreamsTest() throws IOException {
+        PdfDocument outDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocumentWithSharedForms(3, "0 0 1 rg"))));
+        PdfDocument cmpDocument = new PdfDocument(new PdfReader(new ByteArrayInputStream(createDocumentWithSharedForms(3, "1 0 0 rg"))));
+        final Map<PdfStream, Integer> streamReads = new IdentityHashMap<>();
+        CompareTool compareTool = new CompareTool() {
+            @Override
+            byte[] readStreamBytes(PdfStream stream, boolean decoded) {
+                Integer reads = streamReads.get(stream);
+                streamReads.put(stream, reads == null ? 1 : reads + 1);
+                return super.readStreamBytes(stream, decoded);
+            }
+        };
+        CompareTool.CompareResult result = compareTool.compareByCatalog(outDocument, cmpDocument);
+        // only the differing shared form is reported, no matter on how many pages it is met
+        Assert.assertEquals(1, result.getErrorCount());
+        Assert.assertTrue(result.getReport().contains("PdfStream. Bytes are different."));
+        // content streams of 3 pages and 2 forms in each document; every equal stream is read only once,
+        // while the differing forms are read again on each page they are met
+        Assert.assertEquals(10, streamReads.size());
+        Assert.assertEquals(8, Collections.frequency(streamReads.values(), 1));
+        outDocument.close();
+        cmpDocument.close();
+    }
+
     @Test
     public void differentProducerTest() throws IOException {
         String expectedMessage = "Document info fail. Expected: \"iText\u00ae <version> \u00a9<copyright years> iText Group NV (iText Software; licensed version)\", actual: \"iText\u00ae <version> \u00a9<copyright years> iText Group NV (AGPL-version)\"";
@@ -218,4 +257,66 @@ public class CompareToolTest extends ExtendedITextTest {
         Assert.assertTrue(new File(destinationFolder + "diff_1.png").exists());
         Assert.assertTrue(new File(destinationFolder + "diff_2.png").exists());
     }
+
+    @Test
+    public void compareVisuallyInProcessTest() throws IOException, InterruptedException {
+        String outPdf = sourceFolder + "compareVisuallyDiffTestTest1.pdf";
+        String cmpPdf = sourceFolder + "compareVisuallyDiffTestTest2.pdf";
+        String outPath = destinationFolder + "compareVisuallyInProcessTest/";
+        String result = new CompareTool().enableInProcessVisualComparison()
+                .compareVisually(outPdf, cmpPdf, outPath, "diff_");
+        System.out.println("\nRESULT:\n" + result);
+        Assert.assertTrue(result.contains("differs on page [1, 2]."));
+        Assert.assertTrue(new File(outPath + "diff_1.png").exists());
+        Assert.assertTrue(new File(outPath + "diff_2.png").exists());
+
+        Assert.assertNull(new CompareTool().enableInProcessVisualComparison()
+                .compareVisually(outPdf, outPdf, outPath, "diff_"));
+    }
+
+    @Test
+    public void compareVisuallyInProcessIgnoredAreasTest() throws IOException, InterruptedException {
+        String outPdf = sourceFolder + "compareVisuallyDiffTestTest1.pdf";
+        String cmpPdf = sourceFolder + "compareVisuallyDiffTestTest2.pdf";
+        String outPath = destinationFolder + "compareVisuallyInProcessIgnoredAreasTest/";
+        Map<Integer, List<Rectangle>> ignoredAreas = new HashMap<>();
+        PdfDocument pdfDocument = new PdfDocument(new PdfReader(outPdf));
+        for (int i = 1; i <= pdfDocument.getNumberOfPages(); i++) {
+            ignoredAreas.put(i, Collections.singletonList(pdfDocument.getPage(i).getCropBox()));
+        }
+        pdfDocument.close();
+        Assert.assertNull(new CompareTool().enableInProcessVisualComparison()
+                .compareVisually(outPdf, cmpPdf, outPath, "diff_", ignoredAreas));
+
+        ignoredAreas.remove(2);
+        String result = new CompareTool().enableInProcessVisualComparison()
+                .compareVisually(outPdf, cmpPdf, outPath, "diff_", ignoredAreas);
+        Assert.assertTrue(result.contains("differs on page [2]."));
+    }
+
+    @Test
+    public void compareByContentInProcessVisualFallbackTest() throws IOException, InterruptedException {
+        CompareTool compareTool = new CompareTool().enableInProcessVisualComparison();
+        String outPdf = sourceFolder + "tagged_pdf.pdf";
+        String cmpPdf = sourceFolder + "cmp_tagged_pdf.pdf";
+        String result = compareTool.compareByContent(outPdf, cmpPdf, destinationFolder);
+        System.out.println("\nRESULT:\n" + result);
+        Assert.assertTrue(result.contains("Compare by content fails. No visual differences"));
+    }
+
+    private static byte[] createDocumentWithSharedForms(int pagesNumber, String differingFormColor) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        PdfFormXObject equalForm = new PdfFormXObject(new Rectangle(100, 100));
+        new PdfCanvas(equalForm, pdfDoc).rectangle(10, 10, 80, 80).fill();
+        PdfFormXObject differingForm = new PdfFormXObject(new Rectangle(100, 100));
+        differingForm.getPdfObject().getOutputStream().writeString(differingFormColor + " 10 10 80 80 re f");
+        for (int i = 0; i < pagesNumber; ++i) {
+            new PdfCanvas(pdfDoc.addNewPage())
+                    .addXObject(equalForm, 0, 0)
+                    .addXObject(differingForm, 200, 200);
+        }
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
 }
@@ -43,15 +43,25 @@
 package com.itextpdf.kernel.utils;
 
 import com.itextpdf.io.LogMessageConstant;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.tagging.IStructureNode;
+import com.itextpdf.kernel.pdf.tagging.PdfStructElem;
+import com.itextpdf.kernel.pdf.tagging.StandardRoles;
+import com.itextpdf.kernel.pdf.tagutils.TagTreePointer;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.LogMessage;
 import com.itextpdf.test.annotations.LogMessages;
 import com.itextpdf.test.annotations.type.IntegrationTest;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -272,6 +282,86 @@ public class PdfMergerTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void mergeWholeTaggedDocumentTest() throws IOException, ParserConfigurationException, SAXException {
+        byte[] source = createTaggedDocumentWithTagPerPage(3);
+        String wholeDocumentResult = destinationFolder + "mergeWholeTaggedDocument.pdf";
+        String pageRangesResult = destinationFolder + "mergeTaggedDocumentPageRanges.pdf";
+
+        PdfDocument output = new PdfDocument(new PdfWriter(wholeDocumentResult));
+        PdfMerger merger = new PdfMerger(output).setCloseSourceDocuments(true);
+        for (int i = 0; i < 2; ++i) {
+            PdfDocument sourceDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)));
+            merger.merge(sourceDoc, 1, sourceDoc.getNumberOfPages());
+        }
+        merger.close();
+
+        output = new PdfDocument(new PdfWriter(pageRangesResult));
+        merger = new PdfMerger(output).setCloseSourceDocuments(true);
+        for (int i = 0; i < 2; ++i) {
+            merger.merge(new PdfDocument(new PdfReader(new ByteArrayInputStream(source))), 1, 2);
+            merger.merge(new PdfDocument(new PdfReader(new ByteArrayInputStream(source))), 3, 3);
+        }
+        merger.close();
+
+        Assert.assertNull(new CompareTool().compareTagStructures(wholeDocumentResult, pageRangesResult));
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(wholeDocumentResult));
+        PdfStructElem documentElem = (PdfStructElem) resultDoc.getStructTreeRoot().getKids().get(0);
+        // the empty Div tag of each source is not copied
+        Assert.assertEquals(6, documentElem.getKids().size());
+        for (IStructureNode kid : documentElem.getKids()) {
+            Assert.assertEquals(PdfName.P, kid.getRole());
+        }
+        resultDoc.close();
+    }
+
+    @Test
+    public void mergeWholeTaggedDocumentWithCyclicKidsTest() throws IOException {
+        byte[] source = createTaggedDocumentWithTagPerPage(3);
+        String result = destinationFolder + "mergeWholeTaggedDocumentWithCyclicKids.pdf";
+
+        PdfDocument sourceDoc = new PdfDocument(new PdfReader(new ByteArrayInputStream(source)));
+        // Make the Document tag a kid of its own first P kid
+        PdfDictionary documentElem = sourceDoc.getStructTreeRoot().getKidsObject().getAsDictionary(0);
+        PdfDictionary firstParagraph = documentElem.getAsArray(PdfName.K).getAsDictionary(0);
+        PdfArray cyclicKids = new PdfArray();
+        cyclicKids.add(firstParagraph.get(PdfName.K));
+        cyclicKids.add(documentElem);
+        firstParagraph.put(PdfName.K, cyclicKids);
+
+        PdfMerger merger = new PdfMerger(new PdfDocument(new PdfWriter(result))).setCloseSourceDocuments(true);
+        merger.merge(sourceDoc, 1, sourceDoc.getNumberOfPages());
+        merger.close();
+
+        PdfDocument resultDoc = new PdfDocument(new PdfReader(result));
+        PdfStructElem copiedDocumentElem = (PdfStructElem) resultDoc.getStructTreeRoot().getKids().get(0);
+        Assert.assertEquals(3, copiedDocumentElem.getKids().size());
+        // The reference back to the Document tag is not copied
+        Assert.assertEquals(1, ((PdfStructElem) copiedDocumentElem.getKids().get(0)).getKids().size());
+        resultDoc.close();
+    }
+
+    private static byte[] createTaggedDocumentWithTagPerPage(int pagesNumber) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PdfDocument pdfDoc = new PdfDocument(new PdfWriter(baos));
+        pdfDoc.setTagged();
+        TagTreePointer pointer = pdfDoc.getTagStructureContext().getAutoTaggingPointer();
+        for (int i = 0; i < pagesNumber; ++i) {
+            PdfPage page = pdfDoc.addNewPage();
+            pointer.setPageForTagging(page).addTag(StandardRoles.P);
+            new PdfCanvas(page)
+                    .openTag(pointer.getTagReference())
+                    .rectangle(100, 100, 100, 100)
+                    .fill()
+                    .closeTag();
+            pointer.moveToParent();
+        }
+        pointer.addTag(StandardRoles.DIV).moveToParent();
+        pdfDoc.close();
+        return baos.toByteArray();
+    }
+
     @Test
     @LogMessages(messages = {@LogMessage(messageTemplate = LogMessageConstant.NAME_ALREADY_EXISTS_IN_THE_NAME_TREE, count = 2)})
     public void mergeOutlinesNamedDestinations() throws IOException, InterruptedException {
@@ -45,6 +45,8 @@ package com.itextpdf.layout.renderer;
 
 import com.itextpdf.io.LogMessageConstant;
 import com.itextpdf.io.util.MessageFormatUtil;
+import com.itextpdf.kernel.counter.performance.PerformanceEventHandler;
+import com.itextpdf.kernel.counter.performance.PerformancePhase;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.layout.layout.LayoutArea;
 import com.itextpdf.layout.layout.LayoutContext;
@@ -123,6 +125,8 @@ public abstract class RootRenderer extends AbstractRenderer {
             }
 
             processWaitingKeepWithNextElement(renderer);
+            // split parts flushed within the loop are reported as FLUSH and are not included into the layout time
+            long layoutStart = PerformanceEventHandler.getInstance().start();
 
             List<IRenderer> resultRenderers = new ArrayList<>();
             LayoutResult result = null;
@@ -220,6 +224,11 @@ public abstract class RootRenderer extends AbstractRenderer {
                 marginsCollapseHandler.endChildMarginsHandling(currentArea.getBBox());
             }
 
+            if (layoutStart != PerformanceEventHandler.DISABLED) {
+                PerformanceEventHandler.getInstance().finish(PerformancePhase.LAYOUT,
+                        addedRenderers.get(i).getClass().getSimpleName(), layoutStart, -1);
+            }
+
             if (null != result && null != result.getSplitRenderer()) {
                 renderer = result.getSplitRenderer();
             }
@@ -259,7 +268,12 @@ public abstract class RootRenderer extends AbstractRenderer {
             }
             Rectangle fullBbox = layoutArea.getBBox().clone();
             preparePositionedRendererAndAreaForLayout(renderer, fullBbox, layoutArea.getBBox());
+            long layoutStart = PerformanceEventHandler.getInstance().start();
             renderer.layout(new PositionedLayoutContext(new LayoutArea(layoutArea.getPageNumber(), fullBbox), layoutArea));
+            if (layoutStart != PerformanceEventHandler.DISABLED) {
+                PerformanceEventHandler.getInstance().finish(PerformancePhase.LAYOUT,
+                        renderer.getClass().getSimpleName(), layoutStart, -1);
+            }
 
             if (immediateFlush) {
                 flushSingleRenderer(renderer);
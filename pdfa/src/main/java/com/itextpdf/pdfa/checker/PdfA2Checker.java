@@ -148,6 +148,12 @@ public class PdfA2Checker extends PdfA1Checker {
 
     private Set<PdfObject> transparencyObjects = new HashSet<>();
 
+    /**
+     * Contains the number of glyphs of each type 3 font that were present when its glyphs were last checked.
+     * The glyphs are checked again only if new ones have been added to the font since then.
+     */
+    private Map<PdfObject, Integer> checkedType3FontGlyphsCount = new HashMap<>();
+
     /**
      * Creates a PdfA2Checker with the required conformance level
      *
@@ -278,8 +284,8 @@ public class PdfA2Checker extends PdfA1Checker {
         }
 
         if (fill != null && colorSpace instanceof PdfCieBasedCs.IccBased) {
-            byte[] iccBytes = ((PdfArray) colorSpace.getPdfObject()).getAsStream(1).getBytes();
-            if (ICC_COLOR_SPACE_CMYK.equals(IccProfile.getIccColorSpaceName(iccBytes))) {
+            PdfStream iccStream = ((PdfArray) colorSpace.getPdfObject()).getAsStream(1);
+            if (ICC_COLOR_SPACE_CMYK.equals(getIccColorSpaceName(iccStream))) {
                 if ((boolean) fill) {
                     currentFillCsIsIccBasedCMYK = true;
                 } else {
@@ -707,7 +713,7 @@ public class PdfA2Checker extends PdfA1Checker {
                 throw new PdfAConformanceException(PdfAConformanceException.PROFILE_STREAM_OF_OUTPUTINTENT_SHALL_BE_OUTPUT_PROFILE_PRTR_OR_MONITOR_PROFILE_MNTR);
             }
 
-            String cs = IccProfile.getIccColorSpaceName(((PdfStream) destOutputProfile).getBytes());
+            String cs = getIccColorSpaceName((PdfStream) destOutputProfile);
             if (!ICC_COLOR_SPACE_RGB.equals(cs) && !ICC_COLOR_SPACE_CMYK.equals(cs) && !ICC_COLOR_SPACE_GRAY.equals(cs)) {
                 throw new PdfAConformanceException(PdfAConformanceException.OUTPUT_INTENT_COLOR_SPACE_SHALL_BE_EITHER_GRAY_RGB_OR_CMYK);
             }
@@ -1086,6 +1092,11 @@ public class PdfA2Checker extends PdfA1Checker {
     }
 
     private void checkType3FontGlyphs(PdfType3Font font, PdfStream contentStream) {
+        int numberOfGlyphs = font.getNumberOfGlyphs();
+        Integer checkedNumberOfGlyphs = checkedType3FontGlyphsCount.get(font.getPdfObject());
+        if (checkedNumberOfGlyphs != null && checkedNumberOfGlyphs == numberOfGlyphs) {
+            return;
+        }
         for (int i = 0; i <= PdfFont.SIMPLE_FONT_MAX_CHAR_CODE_VALUE; ++i) {
             FontEncoding fontEncoding = font.getFontEncoding();
             if (fontEncoding.canDecode(i)) {
@@ -1095,5 +1106,6 @@ public class PdfA2Checker extends PdfA1Checker {
                 }
             }
         }
+        checkedType3FontGlyphsCount.put(font.getPdfObject(), numberOfGlyphs);
     }
 }
@@ -151,6 +151,12 @@ public abstract class PdfAChecker implements Serializable {
 
     private boolean fullCheckMode = false;
 
+    /**
+     * Contains the color space names of the ICC profile streams that have already been processed,
+     * so that the profile of a shared ICC-based color space is decoded only once per document.
+     */
+    private Map<PdfObject, String> iccColorSpaceNames = new HashMap<>();
+
     protected PdfAChecker(PdfAConformanceLevel conformanceLevel) {
         this.conformanceLevel = conformanceLevel;
     }
@@ -516,6 +522,22 @@ public abstract class PdfAChecker implements Serializable {
                 dictionary.getAsDictionary(PdfName.Group).getAsName(PdfName.S));
     }
 
+    /**
+     * Gets the color space name of the ICC profile contained in the given stream. The name is cached
+     * for each profile stream, thus the profile bytes are decoded only the first time it is requested.
+     *
+     * @param iccStream the {@link PdfStream} containing the ICC profile
+     * @return the ICC color space name, e.g. {@link #ICC_COLOR_SPACE_RGB}
+     */
+    protected String getIccColorSpaceName(PdfStream iccStream) {
+        String colorSpaceName = iccColorSpaceNames.get(iccStream);
+        if (colorSpaceName == null) {
+            colorSpaceName = IccProfile.getIccColorSpaceName(iccStream.getBytes());
+            iccColorSpaceNames.put(iccStream, colorSpaceName);
+        }
+        return colorSpaceName;
+    }
+
     protected boolean isAlreadyChecked(PdfDictionary dictionary) {
         if (checkedObjects.contains(dictionary)) {
             return true;
@@ -681,8 +703,7 @@ public abstract class PdfAChecker implements Serializable {
         if (outputIntent != null) {
             PdfStream destOutputProfile = outputIntent.getAsStream(PdfName.DestOutputProfile);
             if (destOutputProfile != null) {
-                String intentCS = IccProfile.getIccColorSpaceName(destOutputProfile.getBytes());
-                this.pdfAOutputIntentColorSpace = intentCS;
+                this.pdfAOutputIntentColorSpace = getIccColorSpaceName(destOutputProfile);
             }
         }
     }
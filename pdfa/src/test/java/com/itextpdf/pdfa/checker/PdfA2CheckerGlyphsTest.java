@@ -24,6 +24,8 @@ package com.itextpdf.pdfa.checker;
 
 import com.itextpdf.kernel.font.PdfFont;
 import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.font.PdfType3Font;
+import com.itextpdf.kernel.font.Type3Glyph;
 import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfAConformanceLevel;
 import com.itextpdf.kernel.pdf.PdfArray;
@@ -113,6 +115,28 @@ public class PdfA2CheckerGlyphsTest extends ExtendedITextTest {
         }
     }
 
+    @Test
+    public void checkInvalidGlyphAddedAfterFontGlyphsCheckTest() throws IOException {
+        try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                PdfWriter writer = new PdfWriter(bos);
+                PdfDocument document = new PdfDocument(writer)) {
+            document.addNewPage();
+
+            PdfType3Font font = PdfFontFactory.createType3Font(document, false);
+            font.addGlyph('A', 600, 0, 0, 600, 700);
+            pdfA2Checker.checkFontGlyphs(font, null);
+
+            Type3Glyph invalidGlyph = font.addGlyph('B', 600, 0, 0, 600, 700);
+            invalidGlyph.getContentStream().put(PdfName.Subtype2, PdfName.PS);
+
+            junitExpectedException.expect(PdfAConformanceException.class);
+            junitExpectedException.expectMessage(
+                    PdfAConformanceException.A_FORM_XOBJECT_DICTIONARY_SHALL_NOT_CONTAIN_SUBTYPE2_KEY_WITH_A_VALUE_OF_PS);
+
+            pdfA2Checker.checkFontGlyphs(font, null);
+        }
+    }
+
     private PdfFont createFontWithCharProcsAndEncodingDifferences(PdfDocument document,
             PdfDictionary charProcs, PdfArray differences) {
         PdfDictionary encoding = new PdfDictionary();
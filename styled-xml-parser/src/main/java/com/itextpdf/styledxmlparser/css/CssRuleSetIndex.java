@@ -0,0 +1,205 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.styledxmlparser.css;
+
+import com.itextpdf.styledxmlparser.CommonAttributeConstants;
+import com.itextpdf.styledxmlparser.css.selector.CssSelector;
+import com.itextpdf.styledxmlparser.css.selector.item.CssClassSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.CssIdSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.CssPseudoElementSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.CssSeparatorSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.CssTagSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.ICssSelectorItem;
+import com.itextpdf.styledxmlparser.node.ICustomElementNode;
+import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
+import com.itextpdf.styledxmlparser.node.INode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the statements of a {@link CssStyleSheet} which allows to quickly find the statements that may
+ * apply to an element.
+ * <p>
+ * Rule sets are put into a bucket by the id, class or tag of the rightmost compound selector, in this order of
+ * preference. All the other statements, e.g. at-rules or rule sets with a universal rightmost compound selector,
+ * are put into the universal bucket and are candidates for every element.
+ */
+final class CssRuleSetIndex {
+
+    /** The indexed statements. */
+    private final List<CssStatement> statements;
+
+    /** Indices of the statements whose rightmost compound selector contains an id selector, by the id. */
+    private final Map<String, List<Integer>> idBuckets = new HashMap<>();
+
+    /** Indices of the statements whose rightmost compound selector contains a class selector, by the class. */
+    private final Map<String, List<Integer>> classBuckets = new HashMap<>();
+
+    /** Indices of the statements whose rightmost compound selector contains a tag selector, by the tag. */
+    private final Map<String, List<Integer>> tagBuckets = new HashMap<>();
+
+    /** Indices of the statements that shall be checked against every element. */
+    private final List<Integer> universalBucket = new ArrayList<>();
+
+    /**
+     * Creates a new {@link CssRuleSetIndex} instance.
+     *
+     * @param statements the statements of the style sheet
+     */
+    CssRuleSetIndex(List<CssStatement> statements) {
+        this.statements = new ArrayList<>(statements);
+        for (int i = 0; i < this.statements.size(); i++) {
+            addToBucket(this.statements.get(i), i);
+        }
+    }
+
+    /**
+     * Gets the statements which may contain rule sets matching the node, in the order of the style sheet.
+     *
+     * @param node the node
+     * @return the candidate statements
+     */
+    List<CssStatement> getCandidateStatements(INode node) {
+        if (!(node instanceof IElementNode) || node instanceof ICustomElementNode || node instanceof IDocumentNode) {
+            // Pseudo elements are partially matched against their parent, so the index does not apply to them
+            return statements;
+        }
+        IElementNode element = (IElementNode) node;
+        List<Integer> candidates = new ArrayList<>(universalBucket);
+        addBucket(idBuckets, element.getAttribute(CommonAttributeConstants.ID), candidates);
+        for (String className : getClassNames(element.getAttribute(CommonAttributeConstants.CLASS))) {
+            addBucket(classBuckets, className, candidates);
+        }
+        addBucket(tagBuckets, element.name(), candidates);
+        Collections.sort(candidates);
+        List<CssStatement> result = new ArrayList<>(candidates.size());
+        for (Integer candidate : candidates) {
+            result.add(statements.get((int) candidate));
+        }
+        return result;
+    }
+
+    private void addToBucket(CssStatement statement, int index) {
+        if (statement instanceof CssRuleSet && ((CssRuleSet) statement).getSelector() instanceof CssSelector) {
+            String id = null;
+            String className = null;
+            String tagName = null;
+            List<ICssSelectorItem> selectorItems = ((CssSelector) ((CssRuleSet) statement).getSelector())
+                    .getSelectorItems();
+            for (int i = selectorItems.size() - 1; i >= 0; i--) {
+                ICssSelectorItem item = selectorItems.get(i);
+                if (item instanceof CssSeparatorSelectorItem) {
+                    break;
+                } else if (item instanceof CssPseudoElementSelectorItem) {
+                    // The rest of the compound selector is matched against the parent of the pseudo element
+                    id = className = tagName = null;
+                    break;
+                } else if (item instanceof CssIdSelectorItem) {
+                    id = ((CssIdSelectorItem) item).getId();
+                } else if (item instanceof CssClassSelectorItem) {
+                    className = ((CssClassSelectorItem) item).getClassName();
+                } else if (item instanceof CssTagSelectorItem && !((CssTagSelectorItem) item).isUniversal()) {
+                    tagName = ((CssTagSelectorItem) item).getTagName();
+                }
+            }
+            if (id != null) {
+                addToBucket(idBuckets, id, index);
+                return;
+            } else if (className != null && className.length() > 0) {
+                addToBucket(classBuckets, className, index);
+                return;
+            } else if (tagName != null) {
+                addToBucket(tagBuckets, tagName, index);
+                return;
+            }
+        }
+        universalBucket.add(index);
+    }
+
+    private static void addToBucket(Map<String, List<Integer>> buckets, String key, int index) {
+        List<Integer> bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            buckets.put(key, bucket);
+        }
+        bucket.add(index);
+    }
+
+    private static void addBucket(Map<String, List<Integer>> buckets, String key, List<Integer> candidates) {
+        if (key != null) {
+            List<Integer> bucket = buckets.get(key);
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+    }
+
+    /**
+     * Splits the value of the class attribute into distinct class names, the same way
+     * {@link CssClassSelectorItem#matches(INode)} does.
+     */
+    private static Set<String> getClassNames(String classAttr) {
+        Set<String> classNames = new LinkedHashSet<>();
+        if (classAttr != null) {
+            int start = -1;
+            for (int i = 0; i <= classAttr.length(); i++) {
+                if (i == classAttr.length() || Character.isWhitespace(classAttr.charAt(i))) {
+                    if (start != -1) {
+                        classNames.add(classAttr.substring(start, i));
+                        start = -1;
+                    }
+                } else if (start == -1) {
+                    start = i;
+                }
+            }
+        }
+        return classNames;
+    }
+}
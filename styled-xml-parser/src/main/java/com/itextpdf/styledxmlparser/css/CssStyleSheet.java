@@ -67,6 +67,9 @@ public class CssStyleSheet {
     /** The list of CSS statements. */
     private List<CssStatement> statements;
 
+    /** The index of the statements, built lazily and reset whenever a statement is added. */
+    private volatile CssRuleSetIndex ruleSetIndex;
+
     /**
      * Creates a new {@link CssStyleSheet} instance.
      */
@@ -81,6 +84,7 @@ public class CssStyleSheet {
      */
     public void addStatement(CssStatement statement) {
         statements.add(statement);
+        ruleSetIndex = null;
     }
 
     /**
@@ -91,6 +95,7 @@ public class CssStyleSheet {
     // TODO move this functionality to the parser (parse into)
     public void appendCssStyleSheet(CssStyleSheet anotherCssStyleSheet) {
         statements.addAll(anotherCssStyleSheet.statements);
+        ruleSetIndex = null;
     }
 
     /* (non-Javadoc)
@@ -183,8 +188,13 @@ public class CssStyleSheet {
      * @return the css rule sets
      */
     public List<CssRuleSet> getCssRuleSets(INode node, MediaDeviceDescription deviceDescription) {
+        CssRuleSetIndex index = ruleSetIndex;
+        if (index == null) {
+            index = new CssRuleSetIndex(statements);
+            ruleSetIndex = index;
+        }
         List<CssRuleSet> ruleSets = new ArrayList<>();
-        for (CssStatement statement : statements) {
+        for (CssStatement statement : index.getCandidateStatements(node)) {
             ruleSets.addAll(statement.getCssRuleSets(node, deviceDescription));
         }
         Collections.sort(ruleSets, new CssRuleSetComparator());
@@ -0,0 +1,178 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.styledxmlparser.css.parse;
+
+import com.itextpdf.io.util.StreamUtil;
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe cache of parsed {@link CssStyleSheet} instances, keyed by the base URL and the hash of the
+ * style sheet content, so that the same style sheet is parsed only once even if it is loaded by many conversions.
+ * <p>
+ * The cached style sheets are shared by all the callers and shall not be modified. To combine a cached
+ * style sheet with other ones, append it to another style sheet with
+ * {@link CssStyleSheet#appendCssStyleSheet(CssStyleSheet)}, which does not copy the statements.
+ */
+public class CssStyleSheetCache {
+
+    /** The default maximum number of cached style sheets. */
+    public static final int DEFAULT_CAPACITY = 32;
+
+    /** The cached style sheets in the order of access, the least recently used first. */
+    private final Map<String, CssStyleSheet> styleSheets = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The maximum number of cached style sheets. */
+    private final int capacity;
+
+    /**
+     * Creates a new {@link CssStyleSheetCache} instance holding up to {@link #DEFAULT_CAPACITY} style sheets.
+     */
+    public CssStyleSheetCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new {@link CssStyleSheetCache} instance.
+     *
+     * @param capacity the maximum number of cached style sheets
+     */
+    public CssStyleSheetCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets a parsed style sheet from the cache or parses a stream into a {@link CssStyleSheet} and caches it.
+     *
+     * @param stream the stream
+     * @param baseUrl the base url
+     * @return the shared {@link CssStyleSheet}, which shall not be modified
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public CssStyleSheet parse(InputStream stream, String baseUrl) throws IOException {
+        return parse(StreamUtil.inputStreamToArray(stream), baseUrl);
+    }
+
+    /**
+     * Gets a parsed style sheet from the cache or parses a string into a {@link CssStyleSheet} and caches it.
+     *
+     * @param data the style sheet data
+     * @param baseUrl the base url
+     * @return the shared {@link CssStyleSheet}, which shall not be modified
+     */
+    public CssStyleSheet parse(String data, String baseUrl) {
+        try {
+            return parse(data.getBytes(StandardCharsets.UTF_8), baseUrl);
+        } catch (IOException exc) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the number of cached style sheets.
+     *
+     * @return the number of cached style sheets
+     */
+    public synchronized int size() {
+        return styleSheets.size();
+    }
+
+    /**
+     * Removes all the cached style sheets.
+     */
+    public synchronized void clear() {
+        styleSheets.clear();
+    }
+
+    private CssStyleSheet parse(byte[] data, String baseUrl) throws IOException {
+        String key = createKey(data, baseUrl);
+        if (key == null) {
+            return CssStyleSheetParser.parse(new ByteArrayInputStream(data), baseUrl);
+        }
+        CssStyleSheet styleSheet;
+        synchronized (this) {
+            styleSheet = styleSheets.get(key);
+        }
+        if (styleSheet == null) {
+            // Parse outside of the lock so that different style sheets can be parsed concurrently
+            styleSheet = CssStyleSheetParser.parse(new ByteArrayInputStream(data), baseUrl);
+            synchronized (this) {
+                CssStyleSheet parsedConcurrently = styleSheets.get(key);
+                if (parsedConcurrently != null) {
+                    return parsedConcurrently;
+                }
+                if (styleSheets.size() >= capacity) {
+                    styleSheets.remove(styleSheets.keySet().iterator().next());
+                }
+                styleSheets.put(key, styleSheet);
+            }
+        }
+        return styleSheet;
+    }
+
+    private static String createKey(byte[] data, String baseUrl) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+        // Distinguish the absent base url from the empty one
+        StringBuilder key = new StringBuilder(baseUrl == null ? "-" : "+" + baseUrl).append('#');
+        for (byte b : digest) {
+            key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return key.toString();
+    }
+}
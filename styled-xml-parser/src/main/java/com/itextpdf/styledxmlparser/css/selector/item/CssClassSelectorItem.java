@@ -92,12 +92,28 @@ public class CssClassSelectorItem implements ICssSelectorItem {
         }
         IElementNode element = (IElementNode) node;
         String classAttr = element.getAttribute(CommonAttributeConstants.CLASS);
-        if (classAttr != null && classAttr.length() > 0) {
-            String[] classNames = classAttr.split(" ");
-            for (String currClassName: classNames)
-                if (this.className.equals(currClassName.trim()))
-                    return true;
+        if (classAttr == null || className.length() == 0) {
+            return false;
+        }
+        // Look for the class name delimited by whitespace without splitting the attribute into an array
+        int index = classAttr.indexOf(className);
+        while (index != -1) {
+            int end = index + className.length();
+            if ((index == 0 || Character.isWhitespace(classAttr.charAt(index - 1)))
+                    && (end == classAttr.length() || Character.isWhitespace(classAttr.charAt(end)))) {
+                return true;
+            }
+            index = classAttr.indexOf(className, index + 1);
         }
         return false;
     }
+
+    /**
+     * Gets the class name.
+     *
+     * @return the class name
+     */
+    public String getClassName() {
+        return className;
+    }
 }
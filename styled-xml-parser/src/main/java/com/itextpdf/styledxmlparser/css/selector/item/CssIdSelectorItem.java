@@ -92,4 +92,13 @@ public class CssIdSelectorItem implements ICssSelectorItem {
     public String toString() {
         return "#" + id;
     }
+
+    /**
+     * Gets the id.
+     *
+     * @return the id
+     */
+    public String getId() {
+        return id;
+    }
 }
@@ -44,6 +44,7 @@ package com.itextpdf.styledxmlparser.css.selector.item;
 
 import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupNode;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -102,4 +103,61 @@ class CssPseudoClassChildSelectorItem extends CssPseudoClassSelectorItem {
         }
         return Collections.<INode>emptyList();
     }
+
+    /**
+     * Gets the position of a child node among its element siblings.
+     * For jsoup nodes the position is taken from the index cached by the parent.
+     *
+     * @param node the child node
+     * @return the zero-based position, or -1 if the node has no parent
+     */
+    int getSiblingPosition(INode node) {
+        INode parentElement = node.parentNode();
+        if (parentElement instanceof JsoupNode) {
+            return ((JsoupNode) parentElement).getElementChildPosition(node);
+        }
+        return getAllSiblings(node).indexOf(node);
+    }
+
+    /**
+     * Gets the number of element siblings of a child node, including the node itself.
+     *
+     * @param node the child node
+     * @return the number of element siblings
+     */
+    int getSiblingCount(INode node) {
+        INode parentElement = node.parentNode();
+        if (parentElement instanceof JsoupNode) {
+            return ((JsoupNode) parentElement).getElementChildCount();
+        }
+        return getAllSiblings(node).size();
+    }
+
+    /**
+     * Gets the position of a child node among its element siblings with the type of the child node.
+     *
+     * @param node the child node
+     * @return the zero-based position, or -1 if the node has no parent
+     */
+    int getSiblingOfNodeTypePosition(INode node) {
+        INode parentElement = node.parentNode();
+        if (parentElement instanceof JsoupNode) {
+            return ((JsoupNode) parentElement).getElementChildPositionOfType(node);
+        }
+        return getAllSiblingsOfNodeType(node).indexOf(node);
+    }
+
+    /**
+     * Gets the number of element siblings of a child node with the type of the child node, including the node itself.
+     *
+     * @param node the child node
+     * @return the number of element siblings with the type of the child node
+     */
+    int getSiblingOfNodeTypeCount(INode node) {
+        INode parentElement = node.parentNode();
+        if (parentElement instanceof JsoupNode) {
+            return ((JsoupNode) parentElement).getElementChildCountOfType(((IElementNode) node).name());
+        }
+        return getAllSiblingsOfNodeType(node).size();
+    }
 }
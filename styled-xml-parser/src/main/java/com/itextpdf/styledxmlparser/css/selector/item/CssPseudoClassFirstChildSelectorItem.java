@@ -47,7 +47,6 @@ import com.itextpdf.styledxmlparser.node.ICustomElementNode;
 import com.itextpdf.styledxmlparser.node.IDocumentNode;
 import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.INode;
-import java.util.List;
 
 class CssPseudoClassFirstChildSelectorItem extends CssPseudoClassChildSelectorItem {
     private static final CssPseudoClassFirstChildSelectorItem instance = new CssPseudoClassFirstChildSelectorItem();
@@ -65,7 +64,6 @@ class CssPseudoClassFirstChildSelectorItem extends CssPseudoClassChildSelectorIt
         if (!(node instanceof IElementNode) || node instanceof ICustomElementNode || node instanceof IDocumentNode) {
             return false;
         }
-        List<INode> children = getAllSiblings(node);
-        return !children.isEmpty() && node.equals(children.get(0));
+        return getSiblingPosition(node) == 0;
     }
 }
@@ -47,7 +47,6 @@ import com.itextpdf.styledxmlparser.node.ICustomElementNode;
 import com.itextpdf.styledxmlparser.node.IDocumentNode;
 import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.INode;
-import java.util.List;
 
 class CssPseudoClassFirstOfTypeSelectorItem extends CssPseudoClassChildSelectorItem {
     private static final CssPseudoClassFirstOfTypeSelectorItem instance = new CssPseudoClassFirstOfTypeSelectorItem();
@@ -65,7 +64,6 @@ class CssPseudoClassFirstOfTypeSelectorItem extends CssPseudoClassChildSelectorI
         if (!(node instanceof IElementNode) || node instanceof ICustomElementNode || node instanceof IDocumentNode) {
             return false;
         }
-        List<INode> children = getAllSiblingsOfNodeType(node);
-        return !children.isEmpty() && node.equals(children.get(0));
+        return getSiblingOfNodeTypePosition(node) == 0;
     }
 }
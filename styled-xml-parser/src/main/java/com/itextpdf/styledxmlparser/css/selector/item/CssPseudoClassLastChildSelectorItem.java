@@ -47,7 +47,6 @@ import com.itextpdf.styledxmlparser.node.ICustomElementNode;
 import com.itextpdf.styledxmlparser.node.IDocumentNode;
 import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.INode;
-import java.util.List;
 
 class CssPseudoClassLastChildSelectorItem extends CssPseudoClassChildSelectorItem {
     private static final CssPseudoClassLastChildSelectorItem instance = new CssPseudoClassLastChildSelectorItem();
@@ -65,7 +64,7 @@ class CssPseudoClassLastChildSelectorItem extends CssPseudoClassChildSelectorIte
         if (!(node instanceof IElementNode) || node instanceof ICustomElementNode || node instanceof IDocumentNode) {
             return false;
         }
-        List<INode> children = getAllSiblings(node);
-        return !children.isEmpty() && node.equals(children.get(children.size() - 1));
+        int position = getSiblingPosition(node);
+        return position != -1 && position == getSiblingCount(node) - 1;
     }
 }
@@ -47,7 +47,6 @@ import com.itextpdf.styledxmlparser.node.ICustomElementNode;
 import com.itextpdf.styledxmlparser.node.IDocumentNode;
 import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.INode;
-import java.util.List;
 
 class CssPseudoClassLastOfTypeSelectorItem extends CssPseudoClassChildSelectorItem {
     private static final CssPseudoClassLastOfTypeSelectorItem instance = new CssPseudoClassLastOfTypeSelectorItem();
@@ -65,7 +64,7 @@ class CssPseudoClassLastOfTypeSelectorItem extends CssPseudoClassChildSelectorIt
         if (!(node instanceof IElementNode) || node instanceof ICustomElementNode || node instanceof IDocumentNode) {
             return false;
         }
-        List<INode> children = getAllSiblingsOfNodeType(node);
-        return !children.isEmpty() && node.equals(children.get(children.size() - 1));
+        int position = getSiblingOfNodeTypePosition(node);
+        return position != -1 && position == getSiblingOfNodeTypeCount(node) - 1;
     }
 }
@@ -47,7 +47,6 @@ import com.itextpdf.styledxmlparser.node.ICustomElementNode;
 import com.itextpdf.styledxmlparser.node.IDocumentNode;
 import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.INode;
-import java.util.List;
 
 class CssPseudoClassNthOfTypeSelectorItem extends CssPseudoClassNthSelectorItem {
 
@@ -60,7 +59,6 @@ class CssPseudoClassNthOfTypeSelectorItem extends CssPseudoClassNthSelectorItem
         if (!(node instanceof IElementNode) || node instanceof ICustomElementNode || node instanceof IDocumentNode) {
             return false;
         }
-        List<INode> children = getAllSiblingsOfNodeType(node);
-        return !children.isEmpty() && resolveNth(node, children);
+        return resolveNth(getSiblingOfNodeTypePosition(node));
     }
 }
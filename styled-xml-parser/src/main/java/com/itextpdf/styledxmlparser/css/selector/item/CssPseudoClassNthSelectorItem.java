@@ -69,8 +69,7 @@ class CssPseudoClassNthSelectorItem extends CssPseudoClassChildSelectorItem {
         if (!(node instanceof IElementNode) || node instanceof ICustomElementNode || node instanceof IDocumentNode) {
             return false;
         }
-        List<INode> children = getAllSiblings(node);
-        return !children.isEmpty() && resolveNth(node, children);
+        return resolveNth(getSiblingPosition(node));
     }
 
     /**
@@ -118,15 +117,25 @@ class CssPseudoClassNthSelectorItem extends CssPseudoClassChildSelectorItem {
      * @return true, if successful
      */
     protected boolean resolveNth(INode node, List<INode> children) {
-        if (!children.contains(node))
+        return resolveNth(children.indexOf(node));
+    }
+
+    /**
+     * Resolves the nth.
+     *
+     * @param position the zero-based position of a node among its siblings, or -1 if it is not among them
+     * @return true, if successful
+     */
+    boolean resolveNth(int position) {
+        if (position < 0)
             return false;
         if (this.nthA > 0) {
-            int temp = children.indexOf(node) + 1 - this.nthB;
+            int temp = position + 1 - this.nthB;
             return temp >= 0 && temp % this.nthA == 0;
         } else if (this.nthA < 0) {
-            int temp = children.indexOf(node) + 1 - this.nthB;
+            int temp = position + 1 - this.nthB;
             return temp <= 0 && temp % this.nthA == 0;
         } else
-            return (children.indexOf(node) + 1) - this.nthB == 0;
+            return (position + 1) - this.nthB == 0;
     }
 }
@@ -96,4 +96,22 @@ public class CssTagSelectorItem implements ICssSelectorItem {
     public String toString() {
         return tagName;
     }
+
+    /**
+     * Gets the tag name.
+     *
+     * @return the tag name
+     */
+    public String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Checks whether the selector is the universal selector, which matches any tag.
+     *
+     * @return true, if the selector matches any tag
+     */
+    public boolean isUniversal() {
+        return isUniversal;
+    }
 }
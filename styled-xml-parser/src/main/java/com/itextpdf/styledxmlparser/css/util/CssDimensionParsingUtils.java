@@ -29,6 +29,8 @@ import com.itextpdf.styledxmlparser.LogMessageConstant;
 import com.itextpdf.styledxmlparser.css.CommonCssConstants;
 import com.itextpdf.styledxmlparser.exceptions.StyledXMLParserException;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +40,17 @@ import org.slf4j.LoggerFactory;
 public final class CssDimensionParsingUtils {
     private static final Logger logger = LoggerFactory.getLogger(CssDimensionParsingUtils.class);
 
+    /**
+     * The maximum number of distinct values kept in each of the parsed values caches. The same few literals
+     * (e.g. "0", "1px", "100%", "#fff") are used over and over again in style sheets, so the caches are
+     * simply cleared once they are full.
+     */
+    private static final int MAX_CACHED_VALUES = 1024;
+
+    private static final Map<String, NumberWithUnit> parsedDimensions = new ConcurrentHashMap<>();
+
+    private static final Map<String, float[]> parsedColors = new ConcurrentHashMap<>();
+
     /**
      * Creates a new {@link CssDimensionParsingUtils} instance.
      */
@@ -178,9 +191,9 @@ public final class CssDimensionParsingUtils {
      * @return parsed value
      */
     public static float parseAbsoluteLength(String length, String defaultMetric) {
-        int pos = CssDimensionParsingUtils.determinePositionBetweenValueAndUnit(length);
+        NumberWithUnit parsedLength = parseNumberWithUnit(length);
 
-        if (pos == 0) {
+        if (parsedLength == null) {
             if (length == null) {
                 length = "null";
             }
@@ -188,8 +201,8 @@ public final class CssDimensionParsingUtils {
         }
 
         // Use double type locally to have better precision of the result after applying arithmetic operations
-        double f = Double.parseDouble(length.substring(0, pos));
-        String unit = length.substring(pos);
+        double f = parsedLength.number;
+        String unit = parsedLength.unit;
 
         //points
         if (unit.startsWith(CommonCssConstants.PT) || unit.equals("") && defaultMetric.equals(CommonCssConstants.PT)) {
@@ -250,13 +263,13 @@ public final class CssDimensionParsingUtils {
      * @return the parsed float in the metric unit of the base value
      */
     public static float parseRelativeValue(final String relativeValue, final float baseValue) {
-        int pos = CssDimensionParsingUtils.determinePositionBetweenValueAndUnit(relativeValue);
-        if (pos == 0) {
+        NumberWithUnit parsedValue = parseNumberWithUnit(relativeValue);
+        if (parsedValue == null) {
             return 0f;
         }
         // Use double type locally to have better precision of the result after applying arithmetic operations
-        double f = Double.parseDouble(relativeValue.substring(0, pos));
-        String unit = relativeValue.substring(pos);
+        double f = parsedValue.number;
+        String unit = parsedValue.unit;
         if (unit.startsWith(CommonCssConstants.PERCENTAGE)) {
             f = baseValue * f / 100;
         } else if (unit.startsWith(CommonCssConstants.EM) || unit.startsWith(CommonCssConstants.REM)) {
@@ -397,11 +410,18 @@ public final class CssDimensionParsingUtils {
      * @return an RGBA value expressed as an array with four float values
      */
     public static float[] parseRgbaColor(String colorValue) {
-        float[] rgbaColor = WebColors.getRGBAColor(colorValue);
+        float[] rgbaColor = colorValue == null ? null : parsedColors.get(colorValue);
+        if (rgbaColor != null) {
+            // the cached array is shared, callers are free to modify the returned one
+            return rgbaColor.clone();
+        }
+        rgbaColor = WebColors.getRGBAColor(colorValue);
         if (rgbaColor == null) {
+            // not cached, so that every occurrence of an invalid color is reported
             logger.error(MessageFormatUtil.format(com.itextpdf.io.LogMessageConstant.COLOR_NOT_PARSED, colorValue));
-            rgbaColor = new float[] {0, 0, 0, 1};
+            return new float[] {0, 0, 0, 1};
         }
+        cacheParsedValue(parsedColors, colorValue, rgbaColor.clone());
         return rgbaColor;
     }
 
@@ -435,6 +455,36 @@ public final class CssDimensionParsingUtils {
         return pos;
     }
 
+    /**
+     * Splits a numeric value with a unit (e.g. "16px", "0.5em", "-8.5mm") into the number and the unit.
+     * The results are cached, since the same literals occur in style sheets again and again.
+     *
+     * @param value the value to be split
+     * @return the parsed number and unit, or null if the value doesn't start with a number
+     */
+    private static NumberWithUnit parseNumberWithUnit(String value) {
+        if (value == null) {
+            return null;
+        }
+        NumberWithUnit parsedValue = parsedDimensions.get(value);
+        if (parsedValue == null) {
+            int pos = determinePositionBetweenValueAndUnit(value);
+            if (pos == 0) {
+                return null;
+            }
+            parsedValue = new NumberWithUnit(Double.parseDouble(value.substring(0, pos)), value.substring(pos));
+            cacheParsedValue(parsedDimensions, value, parsedValue);
+        }
+        return parsedValue;
+    }
+
+    private static <T> void cacheParsedValue(Map<String, T> cache, String value, T parsedValue) {
+        if (cache.size() >= MAX_CACHED_VALUES) {
+            cache.clear();
+        }
+        cache.put(value, parsedValue);
+    }
+
     private static boolean isDigit(char ch) {
         return ch >= '0' && ch <= '9';
     }
@@ -446,4 +496,17 @@ public final class CssDimensionParsingUtils {
                         // e.g. 12e-5, 12e+5
                         index + 2 < s.length() && (s.charAt(index + 1) == '-' || s.charAt(index + 1) == '+') && isDigit(s.charAt(index + 2)));
     }
+
+    /**
+     * Immutable result of splitting a numeric value with a unit.
+     */
+    private static final class NumberWithUnit {
+        private final double number;
+        private final String unit;
+
+        NumberWithUnit(double number, String unit) {
+            this.number = number;
+            this.unit = unit;
+        }
+    }
 }
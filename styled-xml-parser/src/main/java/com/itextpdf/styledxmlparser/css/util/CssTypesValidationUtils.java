@@ -170,9 +170,27 @@ public final class CssTypesValidationUtils {
      * @return boolean true if value contains an allowed metric value
      */
     public static boolean isNumericValue(final String value) {
-        return value != null && (value.matches("^[-+]?\\d\\d*\\.\\d*$")
-                || value.matches("^[-+]?\\d\\d*$")
-                || value.matches("^[-+]?\\.\\d\\d*$"));
+        // Equivalent to matching "^[-+]?\\d\\d*\\.\\d*$", "^[-+]?\\d\\d*$" or "^[-+]?\\.\\d\\d*$",
+        // but without compiling the regular expressions on each call, since it is called very often
+        if (value == null) {
+            return false;
+        }
+        int length = value.length();
+        int pos = 0;
+        if (pos < length && (value.charAt(pos) == '-' || value.charAt(pos) == '+')) {
+            pos++;
+        }
+        int integerDigits = countDigits(value, pos);
+        pos += integerDigits;
+        if (pos == length) {
+            return integerDigits > 0;
+        }
+        if (value.charAt(pos) != '.') {
+            return false;
+        }
+        pos++;
+        int fractionDigits = countDigits(value, pos);
+        return pos + fractionDigits == length && (integerDigits > 0 || fractionDigits > 0);
     }
 
     /**
@@ -317,4 +335,12 @@ public final class CssTypesValidationUtils {
         }
         return false;
     }
+
+    private static int countDigits(String value, int start) {
+        int pos = start;
+        while (pos < value.length() && value.charAt(pos) >= '0' && value.charAt(pos) <= '9') {
+            pos++;
+        }
+        return pos - start;
+    }
 }
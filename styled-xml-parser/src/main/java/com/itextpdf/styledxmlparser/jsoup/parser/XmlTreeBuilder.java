@@ -90,6 +90,7 @@ public class XmlTreeBuilder extends TreeBuilder {
                 insert(token.asDoctype());
                 break;
             case EOF: // could put some normalisation here if desired
+                closeRemainingElements();
                 break;
             default:
                 Validate.fail("Unexpected token type: " + token.type);
@@ -110,6 +111,7 @@ public class XmlTreeBuilder extends TreeBuilder {
             tokeniser.acknowledgeSelfClosingFlag();
             if (!tag.isKnownTag()) // unknown tag, remember this is self closing for output. see above.
                 tag.setSelfClosing();
+            onElementClosed(el);
         } else {
             stack.add(el);
         }
@@ -165,11 +167,33 @@ public class XmlTreeBuilder extends TreeBuilder {
         for (int pos = stack.size() -1; pos >= 0; pos--) {
             Element next = stack.get(pos);
             stack.remove(pos);
+            onElementClosed(next);
             if (next == firstFound)
                 break;
         }
     }
 
+    /**
+     * Called once an element and all of its descendants have been parsed, i.e. when the element is popped
+     * off the stack of open elements or when it is self closing. At the moment of the call the element
+     * is already removed from the stack, so {@code stack.size()} is the depth of the closed element
+     * (the root element has depth 1).
+     *
+     * @param element the element that has been closed
+     */
+    protected void onElementClosed(Element element) {
+        // nothing to do by default
+    }
+
+    private void closeRemainingElements() {
+        // the document itself stays at the bottom of the stack
+        for (int pos = stack.size() - 1; pos > 0; pos--) {
+            Element next = stack.get(pos);
+            stack.remove(pos);
+            onElementClosed(next);
+        }
+    }
+
     List<Node> parseFragment(String inputFragment, String baseUri, ParseErrorList errors) {
         initialiseParse(inputFragment, baseUri, errors);
         runParser();
@@ -54,8 +54,12 @@ import com.itextpdf.styledxmlparser.jsoup.nodes.Element;
 import com.itextpdf.styledxmlparser.jsoup.nodes.Node;
 import com.itextpdf.styledxmlparser.jsoup.nodes.TextNode;
 import com.itextpdf.styledxmlparser.jsoup.nodes.XmlDeclaration;
+import com.itextpdf.styledxmlparser.jsoup.parser.Parser;
+import com.itextpdf.styledxmlparser.jsoup.parser.XmlTreeBuilder;
 import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.ISubtreeConsumer;
 import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupDataNode;
 import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupDocumentNode;
 import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupDocumentTypeNode;
@@ -75,6 +79,8 @@ public class JsoupXmlParser implements IXmlParser {
     /** The logger. */
     private static Logger logger = LoggerFactory.getLogger(JsoupXmlParser.class);
 
+    private static final String DEFAULT_STREAMING_CHARSET = "UTF-8";
+
     /* (non-Javadoc)
      * @see com.itextpdf.styledxmlparser.html.IXmlParser#parse(java.io.InputStream, java.lang.String)
      */
@@ -106,6 +112,38 @@ public class JsoupXmlParser implements IXmlParser {
         }
     }
 
+    /**
+     * Parses XML, handing every element at the given depth to the consumer as soon as its end tag is parsed.
+     * Each handed out subtree is detached from the document right away, so only the elements that are
+     * currently open and the subtree being parsed are retained by the parser, instead of the whole document.
+     * <p>
+     * The charset can't be detected from the XML declaration in this mode, since that may require reparsing
+     * the input after some subtrees were already handed out, so UTF-8 is used if no charset is specified.
+     *
+     * @param xmlStream the XML stream
+     * @param charset the charset of the stream, or {@code null} to use UTF-8
+     * @param subtreeDepth the depth of the elements to be handed out, the root element has depth 1
+     * @param consumer the consumer of the parsed subtrees
+     * @return the document node containing the elements shallower than {@code subtreeDepth}
+     *         and everything except the handed out subtrees
+     * @throws IOException signals that an I/O exception has occurred
+     */
+    public IDocumentNode parse(InputStream xmlStream, String charset, int subtreeDepth, ISubtreeConsumer consumer)
+            throws IOException {
+        if (subtreeDepth < 1) {
+            throw new IllegalArgumentException("Subtree depth must be positive");
+        }
+        String baseUri = "";
+        Parser parser = new Parser(new StreamingXmlTreeBuilder(subtreeDepth, consumer));
+        Document doc = Jsoup.parse(xmlStream, charset == null ? DEFAULT_STREAMING_CHARSET : charset, baseUri, parser);
+        INode result = wrapJsoupHierarchy(doc);
+        if (result instanceof IDocumentNode) {
+            return (IDocumentNode) result;
+        } else {
+            throw new IllegalStateException();
+        }
+    }
+
     /**
      * Wraps JSoup nodes into pdfHTML {@link INode} classes.
      *
@@ -139,4 +177,34 @@ public class JsoupXmlParser implements IXmlParser {
 
         return resultNode;
     }
+
+    /**
+     * Tree builder that detaches the elements at the given depth once they are closed
+     * and hands them to the consumer.
+     */
+    private class StreamingXmlTreeBuilder extends XmlTreeBuilder {
+        private final int subtreeDepth;
+        private final ISubtreeConsumer consumer;
+
+        StreamingXmlTreeBuilder(int subtreeDepth, ISubtreeConsumer consumer) {
+            this.subtreeDepth = subtreeDepth;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void onElementClosed(Element element) {
+            if (stack.size() != subtreeDepth) {
+                return;
+            }
+            // whitespace between the handed out subtrees would otherwise pile up in their parent
+            Node previous = element.previousSibling();
+            while (previous instanceof TextNode && ((TextNode) previous).isBlank()) {
+                Node next = previous.previousSibling();
+                previous.remove();
+                previous = next;
+            }
+            element.remove();
+            consumer.consume((IElementNode) wrapJsoupHierarchy(element));
+        }
+    }
 }
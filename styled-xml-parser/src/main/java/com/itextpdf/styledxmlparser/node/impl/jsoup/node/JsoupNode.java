@@ -44,13 +44,16 @@ package com.itextpdf.styledxmlparser.node.impl.jsoup.node;
 
 import com.itextpdf.styledxmlparser.LogMessageConstant;
 import com.itextpdf.styledxmlparser.jsoup.nodes.Node;
+import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.INode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of the {@link INode} interface; wrapper for the JSoup {@link Node} class.
@@ -66,6 +69,18 @@ public class JsoupNode implements INode {
     /** The parent node. */
     INode parentNode;
 
+    /**
+     * The positions of the element children among all the element children and among the element children
+     * with the same name. Built on first use and reset whenever a child is added.
+     */
+    private Map<INode, int[]> elementChildPositions;
+
+    /** The number of element children with a given name, built along with the positions. */
+    private Map<String, Integer> elementChildCountsByName;
+
+    /** The number of element children, built along with the positions. */
+    private int elementChildCount;
+
     /**
      * Creates a new {@link JsoupNode} instance.
      *
@@ -91,6 +106,7 @@ public class JsoupNode implements INode {
         if (node instanceof JsoupNode) {
             childNodes.add(node);
             ((JsoupNode) node).parentNode = this;
+            elementChildPositions = null;
         } else {
             Logger logger = LoggerFactory.getLogger(JsoupNode.class);
             logger.error(LogMessageConstant.ERROR_ADDING_CHILD_NODE);
@@ -104,4 +120,73 @@ public class JsoupNode implements INode {
     public INode parentNode() {
         return parentNode;
     }
+
+    /**
+     * Gets the position of a child among the element children of this node.
+     *
+     * @param child the child node
+     * @return the zero-based position, or -1 if the node is not an element child of this node
+     */
+    public int getElementChildPosition(INode child) {
+        int[] positions = getElementChildPositions().get(child);
+        return positions == null ? -1 : positions[0];
+    }
+
+    /**
+     * Gets the position of a child among the element children of this node with the same name.
+     *
+     * @param child the child node
+     * @return the zero-based position, or -1 if the node is not an element child of this node
+     */
+    public int getElementChildPositionOfType(INode child) {
+        int[] positions = getElementChildPositions().get(child);
+        return positions == null ? -1 : positions[1];
+    }
+
+    /**
+     * Gets the number of element children of this node.
+     *
+     * @return the number of element children
+     */
+    public int getElementChildCount() {
+        getElementChildPositions();
+        return elementChildCount;
+    }
+
+    /**
+     * Gets the number of element children of this node with the given name.
+     *
+     * @param name the element name
+     * @return the number of element children with the given name
+     */
+    public int getElementChildCountOfType(String name) {
+        Integer count = getElementChildCountsByName().get(name);
+        return count == null ? 0 : (int) count;
+    }
+
+    private Map<INode, int[]> getElementChildPositions() {
+        if (elementChildPositions == null) {
+            Map<INode, int[]> positions = new HashMap<>();
+            Map<String, Integer> countsByName = new HashMap<>();
+            int count = 0;
+            for (INode child : childNodes) {
+                if (child instanceof IElementNode) {
+                    String name = ((IElementNode) child).name();
+                    Integer countOfType = countsByName.get(name);
+                    int positionOfType = countOfType == null ? 0 : (int) countOfType;
+                    positions.put(child, new int[] {count++, positionOfType});
+                    countsByName.put(name, positionOfType + 1);
+                }
+            }
+            elementChildCountsByName = countsByName;
+            elementChildCount = count;
+            elementChildPositions = positions;
+        }
+        return elementChildPositions;
+    }
+
+    private Map<String, Integer> getElementChildCountsByName() {
+        getElementChildPositions();
+        return elementChildCountsByName;
+    }
 }
@@ -0,0 +1,220 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.styledxmlparser.resolver.resource;
+
+import com.itextpdf.io.image.ImageData;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread-safe {@link IResourceCache} implementation limited by the total size of the cached resources.
+ * When the limit is exceeded, the least recently used resources are evicted.
+ */
+public class LruResourceCache implements IResourceCache {
+
+    /** The default size limit, in bytes. */
+    public static final long DEFAULT_MAX_SIZE_IN_BYTES = 64L * 1024 * 1024;
+
+    private static final String BYTES_KEY_PREFIX = "bytes:";
+
+    private static final String IMAGE_KEY_PREFIX = "image:";
+
+    /** The cached entries in the order of access, the least recently used first. */
+    private final Map<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The size limit, in bytes. */
+    private final long maxSizeInBytes;
+
+    /** The total size of the cached entries, in bytes. */
+    private long sizeInBytes;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * Creates a new {@link LruResourceCache} instance limited by {@link #DEFAULT_MAX_SIZE_IN_BYTES}.
+     */
+    public LruResourceCache() {
+        this(DEFAULT_MAX_SIZE_IN_BYTES);
+    }
+
+    /**
+     * Creates a new {@link LruResourceCache} instance.
+     *
+     * @param maxSizeInBytes the maximum total size of the cached resources, in bytes
+     */
+    public LruResourceCache(long maxSizeInBytes) {
+        if (maxSizeInBytes < 1) {
+            throw new IllegalArgumentException("maxSizeInBytes");
+        }
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] getBytes(String url) {
+        return (byte[]) get(BYTES_KEY_PREFIX + url);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putBytes(String url, byte[] bytes) {
+        put(BYTES_KEY_PREFIX + url, bytes, bytes.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImageData getImageData(String url) {
+        return (ImageData) get(IMAGE_KEY_PREFIX + url);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putImageData(String url, ImageData imageData, long sizeInBytes) {
+        put(IMAGE_KEY_PREFIX + url, imageData, sizeInBytes);
+    }
+
+    /**
+     * Gets the number of lookups which found a cached resource.
+     *
+     * @return the number of cache hits
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups which did not find a cached resource.
+     *
+     * @return the number of cache misses
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of resources evicted to keep the cache within its size limit.
+     *
+     * @return the number of evicted resources
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the total size of the cached resources.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    /**
+     * Gets the number of cached resources.
+     *
+     * @return the number of cached resources
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all the cached resources. The hit and miss counts are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        sizeInBytes = 0;
+    }
+
+    private synchronized Object get(String key) {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    private synchronized void put(String key, Object value, long size) {
+        if (size > maxSizeInBytes) {
+            // The resource would evict everything else and still not fit
+            return;
+        }
+        CacheEntry previous = entries.put(key, new CacheEntry(value, size));
+        if (previous != null) {
+            sizeInBytes -= previous.size;
+        }
+        sizeInBytes += size;
+        Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+            sizeInBytes -= iterator.next().getValue().size;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private static class CacheEntry {
+        private final Object value;
+        private final long size;
+
+        CacheEntry(Object value, long size) {
+            this.value = value;
+            this.size = size;
+        }
+    }
+}
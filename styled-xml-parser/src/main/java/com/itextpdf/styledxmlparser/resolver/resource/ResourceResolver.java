@@ -43,6 +43,7 @@
 package com.itextpdf.styledxmlparser.resolver.resource;
 
 import com.itextpdf.io.codec.Base64;
+import com.itextpdf.io.image.ImageData;
 import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.io.util.MessageFormatUtil;
 import com.itextpdf.io.util.UrlUtil;
@@ -98,6 +99,11 @@ public class ResourceResolver {
 
     private IResourceRetriever retriever;
 
+    /**
+     * The cache of retrieved resources shared with other resolvers, or null if resources are not shared.
+     */
+    private IResourceCache resourceCache;
+
     /**
      * Creates a new {@link ResourceResolver} instance.
      * If {@code baseUri} is a string that represents an absolute URI with any schema except "file" - resources
@@ -163,6 +169,34 @@ public class ResourceResolver {
         return this;
     }
 
+    /**
+     * Gets the cache of retrieved resources shared with other resolvers.
+     *
+     * @return the resource cache or null if resources are not shared
+     */
+    public IResourceCache getResourceCache() {
+        return resourceCache;
+    }
+
+    /**
+     * Sets the cache of retrieved resources which can be shared with other resolvers.
+     * <p>
+     * When a cache is set, the content of resources retrieved by URL and decoded images are taken from the cache
+     * if present and put there otherwise, so that several conversions fetch and decode each resource only once.
+     * The byte arrays returned by {@link #retrieveBytesFromResource(String)} are then shared and shall not be
+     * modified. Image XObjects are bound to a document and therefore are never shared.
+     * <p>
+     * Cached resources are not retrieved again, so resolvers sharing a cache shall use retrievers which filter
+     * and limit resources in the same way.
+     *
+     * @param resourceCache the resource cache, or null to stop sharing resources
+     * @return the {@link ResourceResolver} instance
+     */
+    public ResourceResolver setResourceCache(IResourceCache resourceCache) {
+        this.resourceCache = resourceCache;
+        return this;
+    }
+
     /**
      * Retrieve {@link PdfImageXObject}.
      *
@@ -259,7 +293,7 @@ public class ResourceResolver {
 
         try {
             URL url = uriResolver.resolveAgainstBaseUri(src);
-            return retriever.getByteArrayByUrl(url);
+            return retrieveBytesByUrl(url);
         } catch (Exception e) {
             logger.error(MessageFormatUtil.format(LogMessageConstant.UNABLE_TO_RETRIEVE_STREAM_WITH_GIVEN_BASE_URI,
                     uriResolver.getBaseUri(), src), e);
@@ -281,6 +315,10 @@ public class ResourceResolver {
 
         try {
             URL url = uriResolver.resolveAgainstBaseUri(src);
+            if (resourceCache != null) {
+                byte[] cachedBytes = retrieveBytesByUrl(url);
+                return cachedBytes == null ? null : new ByteArrayInputStream(cachedBytes);
+            }
             return retriever.getInputStreamByUrl(url);
         } catch (Exception e) {
             logger.error(MessageFormatUtil.format(LogMessageConstant.UNABLE_TO_RETRIEVE_STREAM_WITH_GIVEN_BASE_URI,
@@ -376,8 +414,59 @@ public class ResourceResolver {
      * @throws Exception thrown if error occurred during fetching or constructing the image
      */
     protected PdfXObject createImageByUrl(URL url) throws Exception {
-        byte[] bytes = retriever.getByteArrayByUrl(url);
-        return bytes == null ? null : new PdfImageXObject(ImageDataFactory.create(bytes));
+        if (resourceCache == null) {
+            byte[] bytes = retriever.getByteArrayByUrl(url);
+            return bytes == null ? null : new PdfImageXObject(ImageDataFactory.create(bytes));
+        }
+        String key = url.toExternalForm();
+        ImageData imageData = resourceCache.getImageData(key);
+        if (imageData == null) {
+            // Only the decoded image is cached, caching the encoded content as well would keep the image twice
+            byte[] bytes = retriever.getByteArrayByUrl(url);
+            if (bytes == null) {
+                return null;
+            }
+            imageData = ImageDataFactory.create(bytes);
+            resourceCache.putImageData(key, imageData, getDecodedImageSize(imageData));
+        }
+        return new PdfImageXObject(imageData);
+    }
+
+    /**
+     * Estimates the memory taken by a decoded image, which is usually much larger than its encoded content.
+     *
+     * @param imageData the decoded image
+     * @return the size of the image samples or of the image data, whichever is larger
+     */
+    private static long getDecodedImageSize(ImageData imageData) {
+        // For most image types the color space holds the number of color components
+        int components = Math.min(Math.max(imageData.getColorSpace(), 1), 4);
+        long samplesSize = (long) imageData.getWidth() * (long) imageData.getHeight()
+                * components * Math.max(imageData.getBpc(), 8) / 8;
+        byte[] data = imageData.getData();
+        return data == null ? samplesSize : Math.max(samplesSize, data.length);
+    }
+
+    /**
+     * Retrieves the content of a resource, through the shared resource cache if it is set.
+     *
+     * @param url the resolved URL of the resource
+     * @return the content of the resource or null if the retrieving failed
+     * @throws IOException if any input/output issue occurs
+     */
+    private byte[] retrieveBytesByUrl(URL url) throws IOException {
+        if (resourceCache == null) {
+            return retriever.getByteArrayByUrl(url);
+        }
+        String key = url.toExternalForm();
+        byte[] bytes = resourceCache.getBytes(key);
+        if (bytes == null) {
+            bytes = retriever.getByteArrayByUrl(url);
+            if (bytes != null) {
+                resourceCache.putBytes(key, bytes);
+            }
+        }
+        return bytes;
     }
 
     private byte[] retrieveBytesFromBase64Src(String src) {
@@ -157,4 +157,28 @@ public class CssMatchingTest extends ExtendedITextTest {
         Assert.assertEquals("color: blue", declarations.get(0).toString());
     }
 
+    @Test
+    public void ruleSetsFromDifferentBucketsTest() {
+        IXmlParser htmlParser = new JsoupHtmlParser();
+        IDocumentNode document = htmlParser.parse("<div><p id='p1' class='c1\tc2'>text</p><p>text</p></div>");
+        CssStyleSheet css = CssStyleSheetParser.parse("p { color: red } .c2 { color: green } #p1 { font-size: 10px } "
+                + "* { font-size: 20px } .c1 { color: blue } span { color: black } @media print { p { color: gray } }");
+        MediaDeviceDescription deviceDescription = new MediaDeviceDescription("all");
+        IElementNode first = new JsoupElementNode(((JsoupDocumentNode) document).getDocument().getElementsByTag("p").first());
+        IElementNode last = new JsoupElementNode(((JsoupDocumentNode) document).getDocument().getElementsByTag("p").last());
+
+        List<CssDeclaration> declarations = css.getCssDeclarations(first, deviceDescription);
+        Assert.assertEquals(2, declarations.size());
+        Assert.assertEquals("font-size: 10px", declarations.get(0).toString());
+        Assert.assertEquals("color: blue", declarations.get(1).toString());
+
+        declarations = css.getCssDeclarations(last, deviceDescription);
+        Assert.assertEquals(2, declarations.size());
+        Assert.assertEquals("font-size: 20px", declarations.get(0).toString());
+        Assert.assertEquals("color: red", declarations.get(1).toString());
+
+        css.appendCssStyleSheet(CssStyleSheetParser.parse("p { color: yellow }"));
+        declarations = css.getCssDeclarations(last, deviceDescription);
+        Assert.assertEquals("color: yellow", declarations.get(1).toString());
+    }
 }
@@ -0,0 +1,105 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.styledxmlparser.css.parse;
+
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class CssStyleSheetCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void sameContentIsParsedOnceTest() throws IOException {
+        CssStyleSheetCache cache = new CssStyleSheetCache();
+        String css = "p { color: red }";
+        CssStyleSheet styleSheet = cache.parse(css, null);
+        Assert.assertEquals(CssStyleSheetParser.parse(css).toString(), styleSheet.toString());
+        Assert.assertSame(styleSheet, cache.parse(css, null));
+        Assert.assertSame(styleSheet,
+                cache.parse(new ByteArrayInputStream(css.getBytes(StandardCharsets.UTF_8)), null));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void differentBaseUrlTest() {
+        CssStyleSheetCache cache = new CssStyleSheetCache();
+        String css = "p { color: red }";
+        Assert.assertNotSame(cache.parse(css, null), cache.parse(css, ""));
+        Assert.assertNotSame(cache.parse(css, ""), cache.parse(css, "http://itextpdf.com/"));
+        Assert.assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedStyleSheetIsEvictedTest() {
+        CssStyleSheetCache cache = new CssStyleSheetCache(2);
+        CssStyleSheet first = cache.parse("p { color: red }", null);
+        CssStyleSheet second = cache.parse("p { color: green }", null);
+        Assert.assertSame(first, cache.parse("p { color: red }", null));
+        cache.parse("p { color: blue }", null);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertSame(first, cache.parse("p { color: red }", null));
+        Assert.assertNotSame(second, cache.parse("p { color: green }", null));
+    }
+
+    @Test
+    public void appendCachedStyleSheetTest() {
+        CssStyleSheetCache cache = new CssStyleSheetCache();
+        CssStyleSheet shared = cache.parse("p { color: red }", null);
+        CssStyleSheet combined = new CssStyleSheet();
+        combined.appendCssStyleSheet(shared);
+        combined.appendCssStyleSheet(CssStyleSheetParser.parse("div { color: green }"));
+
+        Assert.assertEquals(2, combined.getStatements().size());
+        Assert.assertSame(shared.getStatements().get(0), combined.getStatements().get(0));
+        Assert.assertEquals(1, shared.getStatements().size());
+    }
+}
@@ -44,9 +44,12 @@ package com.itextpdf.styledxmlparser.css.selector.item;
 
 
 import com.itextpdf.styledxmlparser.IXmlParser;
+import com.itextpdf.styledxmlparser.jsoup.nodes.Element;
+import com.itextpdf.styledxmlparser.jsoup.parser.Tag;
 import com.itextpdf.styledxmlparser.node.IDocumentNode;
 import com.itextpdf.styledxmlparser.node.INode;
 import com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupHtmlParser;
+import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupElementNode;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 import org.junit.Assert;
@@ -268,4 +271,40 @@ public class CssMatchesTest extends ExtendedITextTest {
 
         Assert.assertFalse(item.matches(divNode));
     }
+
+    @Test
+    public void matchesNthChildSelectorItemOddTest() {
+        CssPseudoClassNthChildSelectorItem item = new CssPseudoClassNthChildSelectorItem("odd");
+        IXmlParser htmlParser = new JsoupHtmlParser();
+        IDocumentNode documentNode = htmlParser.parse("<div><p>1</p>text<span>2</span><p>3</p></div>");
+
+        INode divNode = documentNode
+                .childNodes().get(0)
+                    .childNodes().get(1)
+                        .childNodes().get(0);
+
+        Assert.assertTrue(item.matches(divNode.childNodes().get(0)));
+        Assert.assertFalse(item.matches(divNode.childNodes().get(2)));
+        Assert.assertTrue(item.matches(divNode.childNodes().get(3)));
+    }
+
+    @Test
+    public void matchesLastChildSelectorItemAfterAddingChildTest() {
+        CssPseudoClassLastChildSelectorItem lastChild = CssPseudoClassLastChildSelectorItem.getInstance();
+        CssPseudoClassLastOfTypeSelectorItem lastOfType = CssPseudoClassLastOfTypeSelectorItem.getInstance();
+        IXmlParser htmlParser = new JsoupHtmlParser();
+        IDocumentNode documentNode = htmlParser.parse("<div><p>1</p><p>2</p></div>");
+
+        INode divNode = documentNode
+                .childNodes().get(0)
+                    .childNodes().get(1)
+                        .childNodes().get(0);
+        INode secondParagraph = divNode.childNodes().get(1);
+        Assert.assertTrue(lastChild.matches(secondParagraph));
+        Assert.assertTrue(lastOfType.matches(secondParagraph));
+
+        divNode.addChild(new JsoupElementNode(new Element(Tag.valueOf("span"), "")));
+        Assert.assertFalse(lastChild.matches(secondParagraph));
+        Assert.assertTrue(lastOfType.matches(secondParagraph));
+    }
 }
@@ -203,4 +203,23 @@ public class CssDimensionParsingUtilsTest extends ExtendedITextTest {
         // the difference between java and .net. So the test verifies this fix
         Assert.assertEquals(8.503937f, CssDimensionParsingUtils.parseAbsoluteLength("12q"), 0f);
     }
+
+    @Test
+    public void parseRepeatedValuesTest() {
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(7.5f, CssDimensionParsingUtils.parseAbsoluteLength("10px"), 0f);
+            Assert.assertEquals(10f, CssDimensionParsingUtils.parseAbsoluteLength("10", CommonCssConstants.PT), 0f);
+            Assert.assertEquals(5f, CssDimensionParsingUtils.parseRelativeValue("50%", 10), 0f);
+            Assert.assertEquals(0f, CssDimensionParsingUtils.parseRelativeValue("auto", 10), 0f);
+        }
+    }
+
+    @Test
+    public void parseRgbaColorReturnsIndependentArraysTest() {
+        float[] first = CssDimensionParsingUtils.parseRgbaColor("#f00");
+        first[0] = 0;
+        float[] second = CssDimensionParsingUtils.parseRgbaColor("#f00");
+        Assert.assertArrayEquals(new float[] {1, 0, 0, 1}, second, 0f);
+        Assert.assertNotSame(first, second);
+    }
 }
@@ -101,6 +101,22 @@ public class CssTypesValidationUtilsTest extends ExtendedITextTest {
         Assert.assertFalse(CssTypesValidationUtils.isNumericValue(".12f"));
     }
 
+    @Test
+    public void validateNumericValueSignsAndDecimalPoints() {
+        Assert.assertTrue(CssTypesValidationUtils.isNumericValue("-1"));
+        Assert.assertTrue(CssTypesValidationUtils.isNumericValue("+1.2"));
+        Assert.assertTrue(CssTypesValidationUtils.isNumericValue("12."));
+        Assert.assertTrue(CssTypesValidationUtils.isNumericValue("-.5"));
+        Assert.assertFalse(CssTypesValidationUtils.isNumericValue(""));
+        Assert.assertFalse(CssTypesValidationUtils.isNumericValue("-"));
+        Assert.assertFalse(CssTypesValidationUtils.isNumericValue("."));
+        Assert.assertFalse(CssTypesValidationUtils.isNumericValue("+."));
+        Assert.assertFalse(CssTypesValidationUtils.isNumericValue("1.2.3"));
+        Assert.assertFalse(CssTypesValidationUtils.isNumericValue("--1"));
+        Assert.assertFalse(CssTypesValidationUtils.isNumericValue(" 1"));
+        Assert.assertFalse(CssTypesValidationUtils.isNumericValue(null));
+    }
+
     @Test
     public void testSpacesBeforeUnitTypes() {
         Assert.assertFalse(CssTypesValidationUtils.isAngleValue("10 deg"));
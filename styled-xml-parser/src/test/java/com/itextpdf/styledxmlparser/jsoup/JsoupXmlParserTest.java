@@ -46,7 +46,9 @@ import com.itextpdf.styledxmlparser.LogMessageConstant;
 import com.itextpdf.styledxmlparser.jsoup.nodes.Element;
 import com.itextpdf.styledxmlparser.jsoup.parser.Tag;
 import com.itextpdf.styledxmlparser.node.IDocumentNode;
+import com.itextpdf.styledxmlparser.node.IElementNode;
 import com.itextpdf.styledxmlparser.node.INode;
+import com.itextpdf.styledxmlparser.node.ISubtreeConsumer;
 import com.itextpdf.styledxmlparser.node.impl.jsoup.JsoupXmlParser;
 import com.itextpdf.styledxmlparser.node.impl.jsoup.node.JsoupElementNode;
 import com.itextpdf.test.ExtendedITextTest;
@@ -60,6 +62,8 @@ import org.junit.experimental.categories.Category;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 @Category(UnitTest.class)
 public class JsoupXmlParserTest extends ExtendedITextTest {
@@ -83,4 +87,53 @@ public class JsoupXmlParserTest extends ExtendedITextTest {
         root.addChild(null);
         Assert.assertEquals(0, root.childNodes().size());
     }
+
+    @Test
+    public void streamingParseTest() throws IOException {
+        String xml = "<?xml version=\"1.0\"?>\n<report title='r'>\n  <row id='1'><cell>a</cell></row>\n"
+                + "  <row id='2'><cell>b</cell><cell>c</cell></row>\n  <row id='3'/>\n</report>";
+        InputStream stream = new ByteArrayInputStream(xml.getBytes());
+        final List<IElementNode> rows = new ArrayList<>();
+        IDocumentNode document = new JsoupXmlParser().parse(stream, null, 2, new ISubtreeConsumer() {
+            @Override
+            public void consume(IElementNode subtree) {
+                Assert.assertNull(subtree.parentNode());
+                rows.add(subtree);
+            }
+        });
+
+        Assert.assertEquals(3, rows.size());
+        Assert.assertEquals("1", rows.get(0).getAttribute("id"));
+        Assert.assertEquals(2, rows.get(1).childNodes().size());
+        Assert.assertEquals("cell", ((IElementNode) rows.get(1).childNodes().get(1)).name());
+        Assert.assertEquals(0, rows.get(2).childNodes().size());
+
+        IElementNode report = null;
+        for (INode child : document.childNodes()) {
+            if (child instanceof IElementNode) {
+                report = (IElementNode) child;
+            }
+        }
+        Assert.assertNotNull(report);
+        Assert.assertEquals("r", report.getAttribute("title"));
+        // only the trailing whitespace is left in the root element
+        Assert.assertEquals(1, report.childNodes().size());
+    }
+
+    @Test
+    public void streamingParseUnclosedElementsTest() throws IOException {
+        String xml = "<a><b><c/></b><b>";
+        InputStream stream = new ByteArrayInputStream(xml.getBytes());
+        final List<IElementNode> subtrees = new ArrayList<>();
+        new JsoupXmlParser().parse(stream, "UTF-8", 2, new ISubtreeConsumer() {
+            @Override
+            public void consume(IElementNode subtree) {
+                subtrees.add(subtree);
+            }
+        });
+
+        Assert.assertEquals(2, subtrees.size());
+        Assert.assertEquals(1, subtrees.get(0).childNodes().size());
+        Assert.assertEquals(0, subtrees.get(1).childNodes().size());
+    }
 }
@@ -0,0 +1,103 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.styledxmlparser.resolver.resource;
+
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class LruResourceCacheTest extends ExtendedITextTest {
+
+    @Test
+    public void hitAndMissCountTest() {
+        LruResourceCache cache = new LruResourceCache(100);
+        Assert.assertNull(cache.getBytes("a.css"));
+        byte[] bytes = new byte[] {1, 2, 3};
+        cache.putBytes("a.css", bytes);
+        Assert.assertSame(bytes, cache.getBytes("a.css"));
+        Assert.assertNull(cache.getImageData("a.css"));
+
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(3, cache.getSizeInBytes());
+    }
+
+    @Test
+    public void leastRecentlyUsedResourceIsEvictedTest() {
+        LruResourceCache cache = new LruResourceCache(10);
+        cache.putBytes("a", new byte[4]);
+        cache.putBytes("b", new byte[4]);
+        Assert.assertNotNull(cache.getBytes("a"));
+        cache.putBytes("c", new byte[4]);
+
+        Assert.assertNotNull(cache.getBytes("a"));
+        Assert.assertNull(cache.getBytes("b"));
+        Assert.assertNotNull(cache.getBytes("c"));
+        Assert.assertEquals(8, cache.getSizeInBytes());
+        Assert.assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void resourceLargerThanCacheIsNotCachedTest() {
+        LruResourceCache cache = new LruResourceCache(10);
+        cache.putBytes("a", new byte[4]);
+        cache.putBytes("b", new byte[11]);
+
+        Assert.assertNotNull(cache.getBytes("a"));
+        Assert.assertNull(cache.getBytes("b"));
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void replacedResourceSizeTest() {
+        LruResourceCache cache = new LruResourceCache(10);
+        cache.putBytes("a", new byte[4]);
+        cache.putBytes("a", new byte[6]);
+
+        Assert.assertEquals(6, cache.getSizeInBytes());
+        Assert.assertEquals(1, cache.size());
+    }
+}
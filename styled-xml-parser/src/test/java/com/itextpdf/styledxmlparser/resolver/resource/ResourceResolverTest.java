@@ -42,6 +42,7 @@
  */
 package com.itextpdf.styledxmlparser.resolver.resource;
 
+import com.itextpdf.io.util.StreamUtil;
 import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
 import com.itextpdf.kernel.pdf.xobject.PdfXObject;
 import com.itextpdf.styledxmlparser.LogMessageConstant;
@@ -109,6 +110,47 @@ public class ResourceResolverTest extends ExtendedITextTest {
 
     }
 
+    // Shared resource cache tests block
+
+    @Test
+    public void sharedResourceCacheTest() throws IOException {
+        LruResourceCache cache = new LruResourceCache();
+        ResourceResolver firstResolver = new ResourceResolver(baseUri).setResourceCache(cache);
+        ResourceResolver secondResolver = new ResourceResolver(baseUri).setResourceCache(cache);
+
+        byte[] styleSheet = firstResolver.retrieveBytesFromResource("retrieveStyleSheetTest.css");
+        Assert.assertSame(styleSheet, secondResolver.retrieveBytesFromResource("retrieveStyleSheetTest.css"));
+        try (InputStream stream = secondResolver.retrieveResourceAsInputStream("retrieveStyleSheetTest.css")) {
+            Assert.assertArrayEquals(styleSheet, StreamUtil.inputStreamToArray(stream));
+        }
+
+        PdfXObject firstImage = firstResolver.retrieveImageExtended("resourceResolverTest.png");
+        PdfXObject secondImage = secondResolver.retrieveImageExtended("resourceResolverTest.png");
+        Assert.assertNotSame(firstImage, secondImage);
+        Assert.assertEquals(3, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+        // The content of the style sheet and the decoded image, the encoded image content is not cached
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void cachedImageIsChargedDecodedSizeTest() {
+        // resourceResolverTest.png is a 1152x648 RGB image with 8 bits per component, its encoded size is 4313 bytes
+        long decodedSize = 1152L * 648 * 3;
+        LruResourceCache cache = new LruResourceCache(decodedSize);
+        ResourceResolver resolver = new ResourceResolver(baseUri).setResourceCache(cache);
+        Assert.assertNotNull(resolver.retrieveImageExtended("resourceResolverTest.png"));
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(decodedSize, cache.getSizeInBytes());
+
+        // A cache smaller than the decoded image does not keep it, although the encoded content would fit
+        LruResourceCache smallCache = new LruResourceCache(decodedSize - 1);
+        resolver = new ResourceResolver(baseUri).setResourceCache(smallCache);
+        Assert.assertNotNull(resolver.retrieveImageExtended("resourceResolverTest.png"));
+        Assert.assertEquals(0, smallCache.size());
+        Assert.assertEquals(0, smallCache.getSizeInBytes());
+    }
+
     // Malformed resource name tests block
 
     @Test
@@ -662,8 +662,8 @@ public final class SvgConverter {
         return convertToXObject(process(parse(stream, props), props), document, props);
     }
 
-    //Private converter for unification
-    private static PdfFormXObject convertToXObject(ISvgProcessorResult processorResult, PdfDocument document,
+    //Converter for unification, also used by SvgTemplate
+    static PdfFormXObject convertToXObject(ISvgProcessorResult processorResult, PdfDocument document,
             ISvgConverterProperties props) {
         ResourceResolver resourceResolver = SvgConverter.getResourceResolver(processorResult, props);
         final SvgDrawContext drawContext = new SvgDrawContext(resourceResolver, processorResult.getFontProvider());
@@ -0,0 +1,179 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.svg.converter;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.svg.exceptions.SvgLogMessageConstant;
+import com.itextpdf.svg.exceptions.SvgProcessingException;
+import com.itextpdf.svg.processors.ISvgConverterProperties;
+import com.itextpdf.svg.processors.ISvgProcessorResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * An SVG image which has been parsed and processed once and can be drawn any number of times
+ * on any number of {@link PdfDocument} instances.
+ * <p>
+ * The renderer tree is built only once, when the template is created. For each {@link PdfDocument}
+ * the tree is drawn only once as well: the resultant {@link PdfFormXObject} is cached and reused
+ * for all subsequent drawings on the same document. Both the documents and their XObjects are held weakly:
+ * an XObject refers to its document, so holding it strongly would keep the document alive as well.
+ * The XObject stays cached as long as the document keeps it, i.e. until it is flushed.
+ * <p>
+ * A template can be shared between threads, as long as each {@link PdfDocument} is used by one thread at a time.
+ */
+public class SvgTemplate {
+
+    private final ISvgProcessorResult processorResult;
+    private final ISvgConverterProperties props;
+    private final Map<PdfDocument, WeakReference<PdfStream>> xObjects = new WeakHashMap<>();
+
+    /**
+     * Creates a template from an already processed SVG.
+     *
+     * @param processorResult the result of processing an SVG, e.g. by {@link SvgConverter#parseAndProcess}
+     * @param props           {@link ISvgConverterProperties} an instance for extra properties to customize the behavior,
+     *                        the same as were used for processing. May be null
+     */
+    public SvgTemplate(ISvgProcessorResult processorResult, ISvgConverterProperties props) {
+        if (processorResult == null) {
+            throw new SvgProcessingException(SvgLogMessageConstant.PARAMETER_CANNOT_BE_NULL);
+        }
+        this.processorResult = processorResult;
+        this.props = props;
+    }
+
+    /**
+     * Parses and processes a String containing valid SVG content.
+     *
+     * @param content the String value containing valid SVG content
+     * @param props   {@link ISvgConverterProperties} an instance for extra properties to customize the behavior
+     * @return a new {@link SvgTemplate} instance
+     */
+    public static SvgTemplate create(String content, ISvgConverterProperties props) {
+        return new SvgTemplate(SvgConverter.process(SvgConverter.parse(content), props), props);
+    }
+
+    /**
+     * Parses and processes an {@link InputStream Stream} containing valid SVG content.
+     *
+     * @param stream the {@link InputStream Stream} containing valid SVG content
+     * @param props  {@link ISvgConverterProperties} an instance for extra properties to customize the behavior
+     * @return a new {@link SvgTemplate} instance
+     * @throws IOException when the stream cannot be read correctly
+     */
+    public static SvgTemplate create(InputStream stream, ISvgConverterProperties props) throws IOException {
+        return new SvgTemplate(SvgConverter.parseAndProcess(stream, props), props);
+    }
+
+    /**
+     * Gets the {@link PdfFormXObject XObject} containing the PDF instructions corresponding to this SVG,
+     * that can be used on the passed {@link PdfDocument}. The XObject is created on the first call for
+     * the given document, subsequent calls return an XObject wrapping the same form XObject stream.
+     *
+     * @param document the {@link PdfDocument} instance the XObject will be used on
+     * @return a {@link PdfFormXObject XObject} which belongs to the passed document
+     */
+    public PdfFormXObject getXObject(PdfDocument document) {
+        if (document == null) {
+            throw new SvgProcessingException(SvgLogMessageConstant.PARAMETER_CANNOT_BE_NULL);
+        }
+        synchronized (xObjects) {
+            WeakReference<PdfStream> cachedXObject = xObjects.get(document);
+            PdfStream xObjectStream = cachedXObject != null ? cachedXObject.get() : null;
+            if (xObjectStream != null) {
+                return new PdfFormXObject(xObjectStream);
+            } else {
+                // The renderer tree is shared, but the fonts and images resolved while drawing
+                // belong to a particular document, so they should not be reused from the previous drawing.
+                SvgConverter.getResourceResolver(processorResult, props).resetCache();
+                FontProvider fontProvider = processorResult.getFontProvider();
+                if (fontProvider != null) {
+                    fontProvider.reset();
+                }
+                PdfFormXObject xObject = SvgConverter.convertToXObject(processorResult, document, props);
+                // The document itself keeps an indirect object, so the weakly cached stream lives as long as it is needed
+                xObject.makeIndirect(document);
+                xObjects.put(document, new WeakReference<>(xObject.getPdfObject()));
+                return xObject;
+            }
+        }
+    }
+
+    int getCachedDocumentsCount() {
+        synchronized (xObjects) {
+            return xObjects.size();
+        }
+    }
+
+    /**
+     * Draws this SVG on the passed {@link PdfCanvas canvas}, at the specified coordinates.
+     *
+     * @param canvas the {@link PdfCanvas} to draw on
+     * @param x      the x coordinate of the lower-left corner of the drawn SVG
+     * @param y      the y coordinate of the lower-left corner of the drawn SVG
+     */
+    public void drawOnCanvas(PdfCanvas canvas, float x, float y) {
+        canvas.addXObject(getXObject(canvas.getDocument()), x, y);
+    }
+
+    /**
+     * Draws this SVG on the passed {@link PdfPage page}, at the specified coordinates.
+     *
+     * @param page the {@link PdfPage} to draw on
+     * @param x    the x coordinate of the lower-left corner of the drawn SVG
+     * @param y    the y coordinate of the lower-left corner of the drawn SVG
+     */
+    public void drawOnPage(PdfPage page, float x, float y) {
+        drawOnCanvas(new PdfCanvas(page), x, y);
+    }
+}
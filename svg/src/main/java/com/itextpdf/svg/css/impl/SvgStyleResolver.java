@@ -48,21 +48,29 @@ import com.itextpdf.styledxmlparser.LogMessageConstant;
 import com.itextpdf.styledxmlparser.css.CommonCssConstants;
 import com.itextpdf.styledxmlparser.css.CssDeclaration;
 import com.itextpdf.styledxmlparser.css.CssFontFaceRule;
+import com.itextpdf.styledxmlparser.css.CssNestedAtRule;
+import com.itextpdf.styledxmlparser.css.CssRuleSet;
 import com.itextpdf.styledxmlparser.css.CssStatement;
 import com.itextpdf.styledxmlparser.css.CssStyleSheet;
 import com.itextpdf.styledxmlparser.css.ICssResolver;
 import com.itextpdf.styledxmlparser.css.media.CssMediaRule;
 import com.itextpdf.styledxmlparser.css.media.MediaDeviceDescription;
 import com.itextpdf.styledxmlparser.css.parse.CssRuleSetParser;
+import com.itextpdf.styledxmlparser.css.parse.CssStyleSheetCache;
 import com.itextpdf.styledxmlparser.css.parse.CssStyleSheetParser;
 import com.itextpdf.styledxmlparser.css.resolve.AbstractCssContext;
 import com.itextpdf.styledxmlparser.css.resolve.CssDefaults;
 import com.itextpdf.styledxmlparser.css.resolve.CssInheritance;
 import com.itextpdf.styledxmlparser.css.resolve.IStyleInheritance;
+import com.itextpdf.styledxmlparser.css.selector.CssSelector;
+import com.itextpdf.styledxmlparser.css.selector.item.CssPseudoClassSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.CssSeparatorSelectorItem;
+import com.itextpdf.styledxmlparser.css.selector.item.ICssSelectorItem;
 import com.itextpdf.styledxmlparser.css.util.CssTypesValidationUtils;
 import com.itextpdf.styledxmlparser.css.util.CssDimensionParsingUtils;
 import com.itextpdf.styledxmlparser.css.util.CssUtils;
 import com.itextpdf.styledxmlparser.node.IAttribute;
+import com.itextpdf.styledxmlparser.node.IAttributes;
 import com.itextpdf.styledxmlparser.node.IDataNode;
 import com.itextpdf.styledxmlparser.node.IDocumentNode;
 import com.itextpdf.styledxmlparser.node.IElementNode;
@@ -113,6 +121,17 @@ public class SvgStyleResolver implements ICssResolver {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SvgStyleResolver.class);
 
+    /**
+     * The maximum number of parent nodes for which the styles of the last resolved child are kept for sharing.
+     */
+    private static final int MAX_STYLE_SHARING_PARENTS = 128;
+
+    /**
+     * The style sheets parsed from the default CSS, style elements and linked style sheets, shared between
+     * resolvers so that the same style sheet is not parsed again for every conversion.
+     */
+    private static final CssStyleSheetCache STYLE_SHEET_CACHE = new CssStyleSheetCache();
+
     private CssStyleSheet css;
     private static final String DEFAULT_CSS_PATH = "com/itextpdf/svg/default.css";
     private boolean isFirstSvgElement = true;
@@ -132,6 +151,18 @@ public class SvgStyleResolver implements ICssResolver {
      */
     private final ResourceResolver resourceResolver;
 
+    /**
+     * The last resolved child of a parent node along with its styles, by the parent node. Siblings with the same
+     * tag and attributes share these styles instead of going through the cascade again.
+     */
+    private final Map<INode, SharedStyles> sharedStylesByParent = new HashMap<>();
+
+    /**
+     * Indicates whether the style sheet allows sharing styles between siblings, i.e. it has no selectors depending
+     * on the position of an element among its siblings. Calculated on first use.
+     */
+    private Boolean styleSharingAllowed;
+
     /**
      * Creates a {@link SvgStyleResolver} with a given default CSS.
      *
@@ -175,7 +206,7 @@ public class SvgStyleResolver implements ICssResolver {
      */
     public SvgStyleResolver(SvgProcessorContext context) {
         try (InputStream defaultCss = ResourceUtil.getResourceStream(DEFAULT_CSS_PATH)) {
-            this.css = CssStyleSheetParser.parse(defaultCss);
+            this.css = STYLE_SHEET_CACHE.parse(defaultCss, null);
         } catch (IOException e) {
             LOGGER.warn(SvgLogMessageConstant.ERROR_INITIALIZING_DEFAULT_CSS, e);
             this.css = new CssStyleSheet();
@@ -288,6 +319,24 @@ public class SvgStyleResolver implements ICssResolver {
     }
 
     private Map<String, String> resolveStyles(INode element, SvgCssContext context) {
+        if (!isStyleSharingAllowed() || !(element instanceof IElementNode) || element.parentNode() == null
+                || SvgConstants.Tags.SVG.equals(((IElementNode) element).name())) {
+            return resolveStylesWithoutSharing(element, context);
+        }
+        SharedStyles sharedStyles = sharedStylesByParent.get(element.parentNode());
+        if (sharedStyles != null && haveSameTagAndAttributes(sharedStyles.element, (IElementNode) element)) {
+            return new HashMap<>(sharedStyles.styles);
+        }
+        Map<String, String> styles = resolveStylesWithoutSharing(element, context);
+        if (sharedStylesByParent.size() >= MAX_STYLE_SHARING_PARENTS) {
+            sharedStylesByParent.clear();
+        }
+        // The returned map is modified by renderers, so a copy is kept for sharing
+        sharedStylesByParent.put(element.parentNode(), new SharedStyles((IElementNode) element, new HashMap<>(styles)));
+        return styles;
+    }
+
+    private Map<String, String> resolveStylesWithoutSharing(INode element, SvgCssContext context) {
         // Resolves node styles without inheritance of parent element styles
         Map<String, String> styles = resolveNativeStyles(element, context);
         if (element instanceof IElementNode && SvgStyleResolver.onlyNativeStylesShouldBeResolved((IElementNode) element)) {
@@ -329,6 +378,50 @@ public class SvgStyleResolver implements ICssResolver {
         return styles;
     }
 
+    private boolean isStyleSharingAllowed() {
+        if (styleSharingAllowed == null) {
+            styleSharingAllowed = !containsSiblingDependentSelectors(css.getStatements());
+        }
+        return (boolean) styleSharingAllowed;
+    }
+
+    private static boolean containsSiblingDependentSelectors(List<CssStatement> statements) {
+        for (CssStatement statement : statements) {
+            if (statement instanceof CssNestedAtRule) {
+                if (containsSiblingDependentSelectors(((CssNestedAtRule) statement).getStatements())) {
+                    return true;
+                }
+            } else if (statement instanceof CssRuleSet && ((CssRuleSet) statement).getSelector() instanceof CssSelector) {
+                for (ICssSelectorItem item : ((CssSelector) ((CssRuleSet) statement).getSelector()).getSelectorItems()) {
+                    if (item instanceof CssPseudoClassSelectorItem || item instanceof CssSeparatorSelectorItem
+                            && (((CssSeparatorSelectorItem) item).getSeparator() == '+'
+                            || ((CssSeparatorSelectorItem) item).getSeparator() == '~')) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean haveSameTagAndAttributes(IElementNode first, IElementNode second) {
+        if (first.name() == null || !first.name().equals(second.name())) {
+            return false;
+        }
+        IAttributes firstAttributes = first.getAttributes();
+        IAttributes secondAttributes = second.getAttributes();
+        if (firstAttributes.size() != secondAttributes.size()) {
+            return false;
+        }
+        for (IAttribute attribute : firstAttributes) {
+            String value = secondAttributes.getAttribute(attribute.getKey());
+            if (value == null || !value.equals(attribute.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Resolves the full path of link href attribute,
      * thanks to the resource resolver.
@@ -378,7 +471,7 @@ public class SvgStyleResolver implements ICssResolver {
                         } else {
                             styleData = ((ITextNode) currentNode.childNodes().get(0)).wholeText();
                         }
-                        CssStyleSheet styleSheet = CssStyleSheetParser.parse(styleData);
+                        CssStyleSheet styleSheet = STYLE_SHEET_CACHE.parse(styleData, null);
                         //TODO (DEVSIX-2263): media query wrap
                         //styleSheet = wrapStyleSheetInMediaQueryIfNecessary(headChildElement, styleSheet);
                         this.css.appendCssStyleSheet(styleSheet);
@@ -388,7 +481,7 @@ public class SvgStyleResolver implements ICssResolver {
                     String styleSheetUri = headChildElement.getAttribute(SvgConstants.Attributes.HREF);
                     try (InputStream stream = resourceResolver.retrieveResourceAsInputStream(styleSheetUri)) {
                         if (stream != null) {
-                            CssStyleSheet styleSheet = CssStyleSheetParser.parse(stream,
+                            CssStyleSheet styleSheet = STYLE_SHEET_CACHE.parse(stream,
                                     resourceResolver.resolveAgainstBaseUri(styleSheetUri).toExternalForm());
                             this.css.appendCssStyleSheet(styleSheet);
                         }
@@ -465,4 +558,13 @@ public class SvgStyleResolver implements ICssResolver {
         return parsed;
     }
 
+    private static class SharedStyles {
+        private final IElementNode element;
+        private final Map<String, String> styles;
+
+        SharedStyles(IElementNode element, Map<String, String> styles) {
+            this.element = element;
+            this.styles = styles;
+        }
+    }
 }
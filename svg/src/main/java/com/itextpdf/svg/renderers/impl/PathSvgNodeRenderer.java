@@ -69,7 +69,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.regex.Pattern;
 
 /**
  * {@link ISvgNodeRenderer} implementation for the &lt;path&gt; tag.
@@ -79,37 +78,21 @@ public class PathSvgNodeRenderer extends AbstractSvgNodeRenderer implements IMar
     private static final String SPACE_CHAR = " ";
 
     /**
-     * The regular expression to find invalid operators in the <a href="https://www.w3.org/TR/SVG/paths.html#PathData">PathData
-     * attribute of the &lt;path&gt; element</a>
-     * <p>
-     * Find any occurrence of a letter that is not an operator
+     * The {@link ClosePath} shape keeping track of the initial point set by a {@link MoveTo} operation.
+     * The original value is {@code null}, and must be set via a {@link MoveTo} operation before it may be drawn.
      */
-    private static final String INVALID_OPERATOR_REGEX = "(?:(?![mzlhvcsqtae])\\p{L})";
-    private static Pattern invalidRegexPattern = Pattern.compile(INVALID_OPERATOR_REGEX, Pattern.CASE_INSENSITIVE);
+    private ClosePath zOperator = null;
 
     /**
-     * The regular expression to split the <a href="https://www.w3.org/TR/SVG/paths.html#PathData">PathData attribute of
-     * the &lt;path&gt; element</a>
-     * <p>
-     * Since {@link PathSvgNodeRenderer#containsInvalidAttributes(String)} is called before the use of this expression
-     * in {@link PathSvgNodeRenderer#parsePathOperations()} the attribute to be split is valid.
-     * <p>
-     * SVG defines 6 types of path commands, for a total of 20 commands:
-     * <p>
-     * MoveTo: M, m
-     * LineTo: L, l, H, h, V, v
-     * Cubic Bezier Curve: C, c, S, s
-     * Quadratic Bezier Curve: Q, q, T, t
-     * Elliptical Arc Curve: A, a
-     * ClosePath: Z, z
+     * The {@link SvgConstants.Attributes#D} value the {@link PathSvgNodeRenderer#shapes} were built from.
      */
-    private static final Pattern SPLIT_PATTERN = Pattern.compile("(?=[mlhvcsqtaz])", Pattern.CASE_INSENSITIVE);
+    private String shapesPathData = null;
 
     /**
-     * The {@link ClosePath} shape keeping track of the initial point set by a {@link MoveTo} operation.
-     * The original value is {@code null}, and must be set via a {@link MoveTo} operation before it may be drawn.
+     * The shapes built from the path data, cached so that the path is parsed only once even though
+     * drawing, bounding box calculation and markers all need them.
      */
-    private ClosePath zOperator = null;
+    private List<IPathShape> shapes = null;
 
     @Override
     public void doDraw(SvgDrawContext context) {
@@ -265,21 +248,24 @@ public class PathSvgNodeRenderer extends AbstractSvgNodeRenderer implements IMar
      * into one or more {@link IPathShape} objects to be drawn on the canvas.
      * <p>
      * Each individual operator is passed to {@link PathSvgNodeRenderer#processPathOperator(String[], IPathShape)} to be
-     * processed individually.
+     * processed individually. The result is cached until the {@link SvgConstants.Attributes#D} attribute changes.
      *
      * @return a {@link Collection} of each {@link IPathShape} that should be drawn to represent the path.
      */
     Collection<IPathShape> getShapes() {
-        Collection<String> parsedResults = parsePathOperations();
-        List<IPathShape> shapes = new ArrayList<>();
-
-        for (String parsedResult : parsedResults) {
-            String[] pathProperties = parsedResult.split(" +");
-            IPathShape previousShape = shapes.size() == 0 ? null : shapes.get(shapes.size() - 1);
+        String pathData = attributesAndStyles.get(SvgConstants.Attributes.D);
+        if (shapes != null && pathData != null && pathData.equals(shapesPathData)) {
+            return shapes;
+        }
+        List<IPathShape> result = new ArrayList<>();
+        for (String[] pathProperties : tokenizePathData(pathData)) {
+            IPathShape previousShape = result.size() == 0 ? null : result.get(result.size() - 1);
             List<IPathShape> operatorShapes = processPathOperator(pathProperties, previousShape);
-            shapes.addAll(operatorShapes);
+            result.addAll(operatorShapes);
         }
-        return shapes;
+        shapes = result;
+        shapesPathData = pathData;
+        return result;
     }
 
     private static String[] concatenate(String[] first, String[] second) {
@@ -290,85 +276,100 @@ public class PathSvgNodeRenderer extends AbstractSvgNodeRenderer implements IMar
     }
 
 
-    boolean containsInvalidAttributes(String attributes) {
-        return invalidRegexPattern.matcher(attributes).find();
-    }
-
     Collection<String> parsePathOperations() {
         Collection<String> result = new ArrayList<>();
-        String attributes = attributesAndStyles.get(SvgConstants.Attributes.D);
-        if (attributes == null) {
-            throw new SvgProcessingException(SvgExceptionMessageConstant.PATH_OBJECT_MUST_HAVE_D_ATTRIBUTE);
-        }
-        if (containsInvalidAttributes(attributes)) {
-            throw new SvgProcessingException(SvgLogMessageConstant.INVALID_PATH_D_ATTRIBUTE_OPERATORS)
-                    .setMessageParams(attributes);
-        }
-
-        String[] operators = splitPathStringIntoOperators(attributes);
-
-        for (String inst : operators) {
-            String instTrim = inst.trim();
-            if (!instTrim.isEmpty()) {
-                char instruction = instTrim.charAt(0);
-                String temp = instruction + SPACE_CHAR + instTrim.substring(1).replace(",", SPACE_CHAR).trim();
-                // Do a run-through for decimal point separation
-                temp = separateDecimalPoints(temp);
-                result.add(temp);
+        for (String[] pathProperties : tokenizePathData(attributesAndStyles.get(SvgConstants.Attributes.D))) {
+            StringBuilder operation = new StringBuilder(pathProperties[0]);
+            for (int i = 1; i < pathProperties.length; i++) {
+                operation.append(SPACE_CHAR).append(pathProperties[i]);
             }
+            result.add(operation.toString());
         }
-
         return result;
     }
 
     /**
-     * Iterate over the input string and separate numbers from each other with space chars
+     * Splits the <a href="https://www.w3.org/TR/SVG/paths.html#PathData">PathData attribute of the &lt;path&gt;
+     * element</a> into operators and their arguments in a single pass over the string.
+     * <p>
+     * Arguments may be separated by whitespace or commas, or follow each other directly when the next number
+     * starts with a sign or with a second decimal point, e.g. "m2.35.96-4" is read as {"m", "2.35", ".96", "-4"}.
+     * Anything preceding the first operator is ignored.
+     *
+     * @param pathData the value of the {@link SvgConstants.Attributes#D} attribute
+     * @return a {@link List} with an array per operator, holding the operator followed by all of its arguments
      */
-    String separateDecimalPoints(String input) {
-        // If a space or minus sign is found reset
-        // If a another point is found, add an extra space on before the point
-        StringBuilder res = new StringBuilder();
-        // We are now among the digits to the right of the decimal point
-        boolean fractionalPartAfterDecimalPoint = false;
-        // We are now among the exponent magnitude part
-        boolean exponentSignMagnitude = false;
-        for (int i = 0; i < input.length(); i++) {
-            char c = input.charAt(i);
-            // Resetting flags
-            if (c == '-' || Character.isWhitespace(c)) {
-                fractionalPartAfterDecimalPoint = false;
-            }
-            if (Character.isWhitespace(c)) {
-                exponentSignMagnitude = false;
-            }
-
-            // Add extra space before the next number starting from '.', or before the next number starting with '-'
-            if (endsWithNonWhitespace(res) && (c == '.' && fractionalPartAfterDecimalPoint ||
-                    c == '-' && !exponentSignMagnitude)) {
-                res.append(" ");
-            }
-
-            if (c == '.') {
-                fractionalPartAfterDecimalPoint = true;
-            } else if (c == 'e') {
-                exponentSignMagnitude = true;
+    static List<String[]> tokenizePathData(String pathData) {
+        if (pathData == null) {
+            throw new SvgProcessingException(SvgExceptionMessageConstant.PATH_OBJECT_MUST_HAVE_D_ATTRIBUTE);
+        }
+        List<String[]> result = new ArrayList<>();
+        List<String> operation = null;
+        // Start index of the number being read or -1 if there is none
+        int numberStart = -1;
+        boolean numberHasDecimalPoint = false;
+        boolean numberHasExponent = false;
+        int length = pathData.length();
+        for (int i = 0; i < length; i++) {
+            char c = pathData.charAt(i);
+            boolean startsNewNumber;
+            if (c == ',' || Character.isWhitespace(c)) {
+                startsNewNumber = false;
+            } else if (c == '-' || c == '+') {
+                // A sign directly following the exponent character belongs to the exponent
+                if (numberStart != -1 && (pathData.charAt(i - 1) == 'e' || pathData.charAt(i - 1) == 'E')) {
+                    continue;
+                }
+                startsNewNumber = true;
+            } else if (c == '.') {
+                if (numberStart != -1 && !numberHasDecimalPoint && !numberHasExponent) {
+                    numberHasDecimalPoint = true;
+                    continue;
+                }
+                startsNewNumber = true;
+            } else if (c == 'e' || c == 'E') {
+                numberHasExponent = true;
+                if (numberStart == -1) {
+                    numberStart = i;
+                }
+                continue;
+            } else if (Character.isLetter(c)) {
+                if (SvgPathShapeFactory.getArgumentCount(String.valueOf(c)) < 0) {
+                    throw new SvgProcessingException(SvgLogMessageConstant.INVALID_PATH_D_ATTRIBUTE_OPERATORS)
+                            .setMessageParams(pathData);
+                }
+                addPathArgument(operation, pathData, numberStart, i);
+                numberStart = -1;
+                if (operation != null) {
+                    result.add(operation.toArray(new String[operation.size()]));
+                }
+                operation = new ArrayList<>();
+                operation.add(String.valueOf(c));
+                continue;
+            } else {
+                if (numberStart == -1) {
+                    numberStart = i;
+                    numberHasDecimalPoint = false;
+                    numberHasExponent = false;
+                }
+                continue;
             }
-
-            res.append(c);
+            addPathArgument(operation, pathData, numberStart, i);
+            numberStart = startsNewNumber ? i : -1;
+            numberHasDecimalPoint = c == '.';
+            numberHasExponent = false;
         }
-        return res.toString();
-    }
-
-    /**
-     * Gets an array of strings representing operators with their arguments, e.g. {"M 100 100", "L 300 100", "L200,
-     * 300", "z"}
-     */
-    static String[] splitPathStringIntoOperators(String path) {
-        return SPLIT_PATTERN.split(path);
+        addPathArgument(operation, pathData, numberStart, length);
+        if (operation != null) {
+            result.add(operation.toArray(new String[operation.size()]));
+        }
+        return result;
     }
 
-    private static boolean endsWithNonWhitespace(StringBuilder sb) {
-        return sb.length() > 0 && !Character.isWhitespace(sb.charAt(sb.length() - 1));
+    private static void addPathArgument(List<String> operation, String pathData, int start, int end) {
+        if (operation != null && start != -1) {
+            operation.add(pathData.substring(start, end));
+        }
     }
 
     @Override
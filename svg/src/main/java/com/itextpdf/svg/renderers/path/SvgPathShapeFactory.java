@@ -51,6 +51,8 @@ import java.util.Map;
  */
 public class SvgPathShapeFactory {
 
+    private static final Map<String, Integer> ARGUMENT_COUNTS = new PathShapeMapper().getArgumentCount();
+
     private SvgPathShapeFactory() {
     }
 
@@ -71,10 +73,7 @@ public class SvgPathShapeFactory {
      * @return an integer value with the required number of arguments or null if there is no mapping for the given value
      */
     public static int getArgumentCount(String name) {
-        Map<String, Integer> map = new PathShapeMapper().getArgumentCount();
-        if (map.containsKey(name.toUpperCase())) {
-            return (int) map.get(name.toUpperCase());
-        }
-        return -1;
+        Integer argumentCount = ARGUMENT_COUNTS.get(name.toUpperCase());
+        return argumentCount == null ? -1 : (int) argumentCount;
     }
 }
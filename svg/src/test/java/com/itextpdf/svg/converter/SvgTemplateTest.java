@@ -0,0 +1,118 @@
+/*
+    This file is part of the iText (R) project.
+    Copyright (c) 1998-2021 iText Group NV
+    Authors: iText Software.
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License version 3
+    as published by the Free Software Foundation with the addition of the
+    following permission added to Section 15 as permitted in Section 7(a):
+    FOR ANY PART OF THE COVERED WORK IN WHICH THE COPYRIGHT IS OWNED BY
+    ITEXT GROUP. ITEXT GROUP DISCLAIMS THE WARRANTY OF NON INFRINGEMENT
+    OF THIRD PARTY RIGHTS
+
+    This program is distributed in the hope that it will be useful, but
+    WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+    or FITNESS FOR A PARTICULAR PURPOSE.
+    See the GNU Affero General Public License for more details.
+    You should have received a copy of the GNU Affero General Public License
+    along with this program; if not, see http://www.gnu.org/licenses or write to
+    the Free Software Foundation, Inc., 51 Franklin Street, Fifth Floor,
+    Boston, MA, 02110-1301 USA, or download the license from the following URL:
+    http://itextpdf.com/terms-of-use/
+
+    The interactive user interfaces in modified source and object code versions
+    of this program must display Appropriate Legal Notices, as required under
+    Section 5 of the GNU Affero General Public License.
+
+    In accordance with Section 7(b) of the GNU Affero General Public License,
+    a covered work must retain the producer line in every PDF that is created
+    or manipulated using iText.
+
+    You can be released from the requirements of the license by purchasing
+    a commercial license. Buying such a license is mandatory as soon as you
+    develop commercial activities involving the iText software without
+    disclosing the source code of your own applications.
+    These activities include: offering paid services to customers as an ASP,
+    serving PDFs on the fly in a web application, shipping iText with a closed
+    source product.
+
+    For more information, please contact iText Software Corp. at this
+    address: sales@itextpdf.com
+ */
+package com.itextpdf.svg.converter;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.test.ExtendedITextTest;
+import com.itextpdf.test.annotations.type.UnitTest;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.ref.WeakReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(UnitTest.class)
+public class SvgTemplateTest extends ExtendedITextTest {
+
+    private static final String CONTENT = "<svg width=\"10\" height=\"20\"><rect width=\"5\" height=\"5\"/></svg>";
+
+    @Test
+    public void sameXObjectIsReusedWithinDocumentTest() {
+        SvgTemplate template = SvgTemplate.create(CONTENT, null);
+        PdfDocument doc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        doc.addNewPage();
+        doc.addNewPage();
+
+        template.drawOnPage(doc.getPage(1), 0, 0);
+        template.drawOnPage(doc.getPage(2), 10, 10);
+
+        PdfFormXObject xObject = template.getXObject(doc);
+        Assert.assertSame(xObject.getPdfObject(), template.getXObject(doc).getPdfObject());
+        Assert.assertEquals(7.5f, xObject.getWidth(), 0.001f);
+        Assert.assertEquals(15f, xObject.getHeight(), 0.001f);
+        Assert.assertEquals(1, doc.getPage(1).getResources().getResourceNames(PdfName.XObject).size());
+        Assert.assertSame(xObject.getPdfObject(), doc.getPage(2).getResources().getResourceObject(PdfName.XObject,
+                doc.getPage(2).getResources().getResourceNames(PdfName.XObject).iterator().next()));
+        doc.close();
+    }
+
+    @Test
+    public void separateXObjectsForDifferentDocumentsTest() {
+        SvgTemplate template = SvgTemplate.create(CONTENT, null);
+        PdfDocument firstDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        PdfDocument secondDoc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        firstDoc.addNewPage();
+        secondDoc.addNewPage();
+
+        template.drawOnPage(firstDoc.getPage(1), 0, 0);
+        template.drawOnPage(secondDoc.getPage(1), 0, 0);
+
+        Assert.assertNotSame(template.getXObject(firstDoc).getPdfObject(), template.getXObject(secondDoc).getPdfObject());
+        firstDoc.close();
+        secondDoc.close();
+    }
+
+    @Test
+    public void droppedDocumentIsNotKeptByTemplateTest() throws InterruptedException {
+        SvgTemplate template = SvgTemplate.create(CONTENT, null);
+        PdfDocument doc = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+        template.drawOnPage(doc.addNewPage(), 0, 0);
+        doc.close();
+        Assert.assertEquals(1, template.getCachedDocumentsCount());
+
+        WeakReference<PdfDocument> docReference = new WeakReference<>(doc);
+        doc = null;
+        for (int i = 0; i < 50 && docReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assert.assertNull(docReference.get());
+        Assert.assertEquals(0, template.getCachedDocumentsCount());
+    }
+}
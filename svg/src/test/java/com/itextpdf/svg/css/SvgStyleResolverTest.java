@@ -265,4 +265,47 @@ public class SvgStyleResolverTest extends ExtendedITextTest{
         Assert.assertEquals(1, fontFaceRuleList.size());
         Assert.assertEquals(2, fontFaceRuleList.get(0).getProperties().size());
     }
+
+    @Test
+    public void siblingsWithSameAttributesShareStylesTest() {
+        JsoupElementNode group = createGroupWithRects("rect { fill: red; }");
+        SvgStyleResolver resolver = new SvgStyleResolver(group, new SvgProcessorContext(new SvgConverterProperties()));
+        AbstractCssContext svgContext = new SvgCssContext();
+        group.setStyles(resolver.resolveStyles(group, svgContext));
+
+        Map<String, String> first = resolver.resolveStyles(group.childNodes().get(1), svgContext);
+        first.put("fill", "green");
+        Map<String, String> second = resolver.resolveStyles(group.childNodes().get(2), svgContext);
+        Map<String, String> third = resolver.resolveStyles(group.childNodes().get(3), svgContext);
+
+        Assert.assertEquals("red", second.get("fill"));
+        Assert.assertEquals("10", second.get("width"));
+        Assert.assertEquals("red", third.get("fill"));
+        Assert.assertEquals("20", third.get("width"));
+    }
+
+    @Test
+    public void siblingDependentSelectorsDisableStyleSharingTest() {
+        JsoupElementNode group = createGroupWithRects("rect { fill: red; } rect:first-of-type { fill: blue; }");
+        SvgStyleResolver resolver = new SvgStyleResolver(group, new SvgProcessorContext(new SvgConverterProperties()));
+        AbstractCssContext svgContext = new SvgCssContext();
+        group.setStyles(resolver.resolveStyles(group, svgContext));
+
+        Assert.assertEquals("blue", resolver.resolveStyles(group.childNodes().get(1), svgContext).get("fill"));
+        Assert.assertEquals("red", resolver.resolveStyles(group.childNodes().get(2), svgContext).get("fill"));
+    }
+
+    private static JsoupElementNode createGroupWithRects(String css) {
+        JsoupElementNode style = new JsoupElementNode(new Element(Tag.valueOf("style"), ""));
+        style.addChild(new JsoupTextNode(new TextNode(css, "")));
+        JsoupElementNode group = new JsoupElementNode(new Element(Tag.valueOf("g"), ""));
+        group.addChild(style);
+        String[] widths = new String[] {"10", "10", "20"};
+        for (String width : widths) {
+            Element rect = new Element(Tag.valueOf("rect"), "");
+            rect.attributes().put(new Attribute("width", width));
+            group.addChild(new JsoupElementNode(rect));
+        }
+        return group;
+    }
 }
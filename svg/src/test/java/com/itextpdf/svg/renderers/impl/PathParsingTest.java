@@ -44,6 +44,7 @@ package com.itextpdf.svg.renderers.impl;
 
 import com.itextpdf.svg.SvgConstants;
 import com.itextpdf.svg.exceptions.SvgProcessingException;
+import com.itextpdf.svg.renderers.path.IPathShape;
 import com.itextpdf.test.ExtendedITextTest;
 import com.itextpdf.test.annotations.type.UnitTest;
 import org.junit.Assert;
@@ -53,6 +54,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.rules.ExpectedException;
 
 import java.util.Collection;
+import java.util.List;
 
 @Category(UnitTest.class)
 public class PathParsingTest extends ExtendedITextTest {
@@ -163,62 +165,67 @@ public class PathParsingTest extends ExtendedITextTest {
 
     @Test
     public void decimalPointParsingTest() {
-        PathSvgNodeRenderer path = new PathSvgNodeRenderer();
-        String input = "2.35.96";
-
-        String expected = "2.35 .96";
-        String actual = path.separateDecimalPoints(input);
-        Assert.assertEquals(expected, actual);
+        List<String[]> operations = PathSvgNodeRenderer.tokenizePathData("M2.35.96");
+        Assert.assertEquals(1, operations.size());
+        Assert.assertArrayEquals(new String[] {"M", "2.35", ".96"}, operations.get(0));
     }
 
     @Test
     public void decimalPointParsingSpaceTest() {
-        PathSvgNodeRenderer path = new PathSvgNodeRenderer();
-        String input = "2.35.96 3.25 .25";
-
-        String expected = "2.35 .96 3.25 .25";
-        String actual = path.separateDecimalPoints(input);
-        Assert.assertEquals(expected, actual);
+        List<String[]> operations = PathSvgNodeRenderer.tokenizePathData("M2.35.96 3.25 .25");
+        Assert.assertEquals(1, operations.size());
+        Assert.assertArrayEquals(new String[] {"M", "2.35", ".96", "3.25", ".25"}, operations.get(0));
     }
 
     @Test
     public void decimalPointParsingTabTest() {
-        PathSvgNodeRenderer path = new PathSvgNodeRenderer();
-        String input = "2.35.96 3.25\t.25";
-
-        String expected = "2.35 .96 3.25\t.25";
-        String actual = path.separateDecimalPoints(input);
-        Assert.assertEquals(expected, actual);
+        List<String[]> operations = PathSvgNodeRenderer.tokenizePathData("M2.35.96 3.25\t.25");
+        Assert.assertEquals(1, operations.size());
+        Assert.assertArrayEquals(new String[] {"M", "2.35", ".96", "3.25", ".25"}, operations.get(0));
     }
 
     @Test
     public void decimalPointParsingMinusTest() {
-        PathSvgNodeRenderer path = new PathSvgNodeRenderer();
-        String input = "2.35.96 3.25-.25";
-
-        String expected = "2.35 .96 3.25 -.25";
-        String actual = path.separateDecimalPoints(input);
-        Assert.assertEquals(expected, actual);
+        List<String[]> operations = PathSvgNodeRenderer.tokenizePathData("M2.35.96 3.25-.25");
+        Assert.assertEquals(1, operations.size());
+        Assert.assertArrayEquals(new String[] {"M", "2.35", ".96", "3.25", "-.25"}, operations.get(0));
     }
 
     @Test
     public void negativeAfterPositiveTest() {
-        PathSvgNodeRenderer path = new PathSvgNodeRenderer();
-        String input = "40-50";
-
-        String expected = "40 -50";
-        String actual = path.separateDecimalPoints(input);
-        Assert.assertEquals(expected, actual);
+        List<String[]> operations = PathSvgNodeRenderer.tokenizePathData("M40-50");
+        Assert.assertEquals(1, operations.size());
+        Assert.assertArrayEquals(new String[] {"M", "40", "-50"}, operations.get(0));
     }
 
     @Test
     public void exponentInNumberTest01() {
-        PathSvgNodeRenderer path = new PathSvgNodeRenderer();
-        String input = "C 268.88888888888886 67.97916666666663e+10 331.1111111111111 -2.842170943040401e-14 393.3333333333333 -2.842170943040401e-14";
+        List<String[]> operations = PathSvgNodeRenderer.tokenizePathData("C 268.88888888888886 67.97916666666663e+10 "
+                + "331.1111111111111 -2.842170943040401e-14 393.3333333333333 -2.842170943040401e-14");
+        Assert.assertEquals(1, operations.size());
+        Assert.assertArrayEquals(new String[] {"C", "268.88888888888886", "67.97916666666663e+10",
+                "331.1111111111111", "-2.842170943040401e-14", "393.3333333333333", "-2.842170943040401e-14"},
+                operations.get(0));
+    }
+
+    @Test
+    public void tokenizePathDataTest() {
+        List<String[]> operations = PathSvgNodeRenderer.tokenizePathData("M1e-2-3.5.5,4L+2E+1 -1e3zl5");
+        Assert.assertEquals(4, operations.size());
+        Assert.assertArrayEquals(new String[] {"M", "1e-2", "-3.5", ".5", "4"}, operations.get(0));
+        Assert.assertArrayEquals(new String[] {"L", "+2E+1", "-1e3"}, operations.get(1));
+        Assert.assertArrayEquals(new String[] {"z"}, operations.get(2));
+        Assert.assertArrayEquals(new String[] {"l", "5"}, operations.get(3));
+    }
 
-        String expected = "C 268.88888888888886 67.97916666666663e+10 331.1111111111111 -2.842170943040401e-14 393.3333333333333 -2.842170943040401e-14";
-        String actual = path.separateDecimalPoints(input);
-        Assert.assertEquals(expected, actual);
+    @Test
+    public void shapesAreCachedUntilPathDataChangesTest() {
+        PathSvgNodeRenderer path = new PathSvgNodeRenderer();
+        path.setAttribute(SvgConstants.Attributes.D, "M 10 10 L 20 20");
+        Collection<IPathShape> shapes = path.getShapes();
+        Assert.assertSame(shapes, path.getShapes());
+        path.setAttribute(SvgConstants.Attributes.D, "M 10 10 L 20 20 L 30 30");
+        Assert.assertEquals(3, path.getShapes().size());
     }
 
 }